@@ -14,11 +14,7 @@ import PageHeader from '../components/PageHeader';
 import LoadingCircle from '../components/LoadingCircle';
 
 // Serviços
-import usuarioService from '../services/usuarioService';
-import anuncioService from '../services/anuncioService';
-import jogoService from '../services/jogoService';
-import contaJogoService from '../services/contaJogoService';
-import transacaoService from '../services/transacaoService';
+import dashboardService from '../services/dashboardService';
 
 const Dashboard = () => {
   const navigate = useNavigate();
@@ -36,20 +32,14 @@ const Dashboard = () => {
       try {
         setLoading(true);
         
-        // Buscar dados das entidades
-        const usuarios = await usuarioService.listarTodos();
-        const anuncios = await anuncioService.listarTodos();
-        const jogos = await jogoService.listarTodos();
-        const contas = await contaJogoService.listarTodos();
-        const transacoes = await transacaoService.listarTodos();
-        
-        // Atualizar contadores
+        // Contadores vêm prontos do backend, sem baixar as listas
+        const resumo = await dashboardService.resumo();
         setCounts({
-          usuarios: usuarios.length,
-          anuncios: anuncios.length,
-          jogos: jogos.length,
-          contas: contas.length,
-          transacoes: transacoes.length
+          usuarios: resumo.usuarios,
+          anuncios: resumo.anuncios,
+          jogos: resumo.jogos,
+          contas: resumo.contas,
+          transacoes: resumo.transacoes
         });
       } catch (error) {
         console.error('Erro ao carregar dados do dashboard:', error);
@@ -86,6 +86,23 @@ const anuncioService = {
     }
   },
   
+  // Busca combinada (preço, descrição, vendedor e jogo) com facetas
+  buscar: async ({ precoMin, precoMax, descricao, usuarioId, jogoId } = {}, page = 0, size = 10) => {
+    try {
+      const params = { page, size };
+      if (precoMin !== undefined && precoMin !== '') params.precoMin = precoMin;
+      if (precoMax !== undefined && precoMax !== '') params.precoMax = precoMax;
+      if (descricao) params.descricao = descricao;
+      if (usuarioId) params.usuarioId = usuarioId;
+      if (jogoId) params.jogoId = jogoId;
+      const response = await api.get('/anuncios/busca', { params });
+      return response.data;
+    } catch (error) {
+      console.error('Erro na busca de anúncios:', error);
+      throw error;
+    }
+  },
+  
   // Buscar por preço máximo
   buscarPorPrecoMaximo: async (precoMax, page = 0, size = 10) => {
     try {
@@ -98,12 +98,14 @@ const contaJogoService = {
   /**
    * Busca contas de jogo por usuário
    * @param {number} usuarioId - ID do usuário
-   * @returns {Promise<Array>} Lista de contas de jogo do usuário
+   * @param {number} page - Página (a partir de 0)
+   * @param {number} size - Contas por página
+   * @returns {Promise<Array>} Contas de jogo do usuário na página pedida
    */
-  buscarPorUsuario: async (usuarioId) => {
+  buscarPorUsuario: async (usuarioId, page = 0, size = 50) => {
     try {
-      const response = await axios.get(`${API_URL}${endpoint}/usuario/${usuarioId}`);
-      return response.data;
+      const response = await axios.get(`${API_URL}${endpoint}/usuario/${usuarioId}?page=${page}&size=${size}`);
+      return response.data.content;
     } catch (error) {
       console.error(`Erro ao buscar contas de jogo do usuário ${usuarioId}:`, error);
       throw error;
@@ -113,12 +115,14 @@ const contaJogoService = {
   /**
    * Busca contas de jogo por jogo
    * @param {number} jogoId - ID do jogo
-   * @returns {Promise<Array>} Lista de contas de jogo para o jogo especificado
+   * @param {number} page - Página (a partir de 0)
+   * @param {number} size - Contas por página
+   * @returns {Promise<Array>} Contas de jogo do jogo especificado na página pedida
    */
-  buscarPorJogo: async (jogoId) => {
+  buscarPorJogo: async (jogoId, page = 0, size = 50) => {
     try {
-      const response = await axios.get(`${API_URL}${endpoint}/jogo/${jogoId}`);
-      return response.data;
+      const response = await axios.get(`${API_URL}${endpoint}/jogo/${jogoId}?page=${page}&size=${size}`);
+      return response.data.content;
     } catch (error) {
       console.error(`Erro ao buscar contas de jogo para o jogo ${jogoId}:`, error);
       throw error;
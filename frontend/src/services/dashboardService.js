@@ -0,0 +1,18 @@
+import api from './api';
+
+const endpoint = '/dashboard';
+
+const dashboardService = {
+  // Totais e vendas recentes mantidos em memória pelo backend
+  resumo: async () => {
+    try {
+      const response = await api.get(`${endpoint}/resumo`);
+      return response.data;
+    } catch (error) {
+      console.error('Erro ao carregar resumo do dashboard:', error);
+      throw error;
+    }
+  }
+};
+
+export default dashboardService;
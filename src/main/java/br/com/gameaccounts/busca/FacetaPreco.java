@@ -0,0 +1,4 @@
+package br.com.gameaccounts.busca;
+
+public record FacetaPreco(double de, Double ate, long quantidade) {
+}
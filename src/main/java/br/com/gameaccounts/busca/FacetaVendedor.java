@@ -0,0 +1,4 @@
+package br.com.gameaccounts.busca;
+
+public record FacetaVendedor(Long usuarioId, String nome, long quantidade) {
+}
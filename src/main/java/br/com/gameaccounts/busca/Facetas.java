@@ -0,0 +1,6 @@
+package br.com.gameaccounts.busca;
+
+import java.util.List;
+
+public record Facetas(List<FacetaPreco> faixasPreco, List<FacetaVendedor> vendedores) {
+}
@@ -0,0 +1,4 @@
+package br.com.gameaccounts.busca;
+
+public record FiltroAnuncio(Double precoMin, Double precoMax, String descricao, Long usuarioId, Long jogoId) {
+}
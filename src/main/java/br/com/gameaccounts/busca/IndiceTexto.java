@@ -0,0 +1,232 @@
+package br.com.gameaccounts.busca;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória para buscas "contém" sobre um campo de texto.
+ * <p>
+ * O texto é normalizado (minúsculas, sem acentos) e quebrado em trigramas; uma consulta
+ * com três ou mais caracteres só examina os documentos presentes em todas as listas de
+ * trigramas da consulta, e o casamento final é confirmado por substring no texto
+ * normalizado. Os resultados são ordenados por relevância: termos que aparecem como
+ * palavra inteira valem mais que prefixos, que valem mais que trechos no meio da palavra.
+ * <p>
+ * Quem grava no banco usa {@link #indexarAposCommit} e {@link #removerAposCommit}: dentro
+ * de uma transação o índice só muda depois do commit, para que um rollback não deixe no
+ * índice um texto que o banco não tem.
+ */
+public class IndiceTexto {
+    private static final int N = 3;
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, String> textos = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    public void indexar(Long id, String texto) {
+        String normalizado = normalizar(texto);
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            textos.put(id, normalizado);
+            for (String grama : gramas(normalizado)) {
+                postings.computeIfAbsent(grama, g -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexarAposCommit(Long id, String texto) {
+        aposCommit(() -> indexar(id, texto));
+    }
+
+    public void removerAposCommit(Long id) {
+        aposCommit(() -> remover(id));
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            textos.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return textos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> buscar(String consulta) {
+        String normalizada = normalizar(consulta);
+        String[] termos = SEPARADORES.split(normalizada.strip());
+        List<Resultado> resultados = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidatos(normalizada)) {
+                String texto = textos.get(id);
+                if (texto.contains(normalizada)) {
+                    resultados.add(new Resultado(id, pontuar(texto, termos)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        resultados.sort(Comparator.comparingInt(Resultado::pontuacao).reversed().thenComparing(Resultado::id));
+        return resultados.stream().map(Resultado::id).toList();
+    }
+
+    public <T> Page<T> buscar(String consulta, Pageable pageable, Function<List<Long>, List<T>> carregar, Function<T, Long> id) {
+        List<Long> ids = buscar(consulta);
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ordenar(ids, carregar.apply(ids), id), pageable, ids.size());
+        }
+        int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+        int fim = Math.min(inicio + pageable.getPageSize(), ids.size());
+        List<Long> idsPagina = ids.subList(inicio, fim);
+        List<T> conteudo = idsPagina.isEmpty() ? List.of() : ordenar(idsPagina, carregar.apply(idsPagina), id);
+        return new PageImpl<>(conteudo, pageable, ids.size());
+    }
+
+    private <T> List<T> ordenar(List<Long> ids, List<T> entidades, Function<T, Long> id) {
+        Map<Long, T> porId = new HashMap<>();
+        for (T entidade : entidades) {
+            porId.put(id.apply(entidade), entidade);
+        }
+        List<T> ordenadas = new ArrayList<>(ids.size());
+        for (Long chave : ids) {
+            T entidade = porId.get(chave);
+            if (entidade != null) {
+                ordenadas.add(entidade);
+            }
+        }
+        return ordenadas;
+    }
+
+    private Set<Long> candidatos(String consulta) {
+        if (consulta.length() < N) {
+            return textos.keySet();
+        }
+        List<Set<Long>> listas = new ArrayList<>();
+        for (String grama : gramas(consulta)) {
+            Set<Long> lista = postings.get(grama);
+            if (lista == null) {
+                return Set.of();
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+        Set<Long> intersecao = new HashSet<>(listas.get(0));
+        for (int i = 1; i < listas.size() && !intersecao.isEmpty(); i++) {
+            intersecao.retainAll(listas.get(i));
+        }
+        return intersecao;
+    }
+
+    private static int pontuar(String texto, String[] termos) {
+        String[] palavras = SEPARADORES.split(texto);
+        int pontuacao = 0;
+        for (String termo : termos) {
+            if (termo.isEmpty()) {
+                continue;
+            }
+            int melhor = 0;
+            for (String palavra : palavras) {
+                if (palavra.equals(termo)) {
+                    melhor = 3;
+                    break;
+                }
+                if (palavra.startsWith(termo)) {
+                    melhor = Math.max(melhor, 2);
+                } else if (palavra.contains(termo)) {
+                    melhor = Math.max(melhor, 1);
+                }
+            }
+            pontuacao += melhor;
+        }
+        return pontuacao;
+    }
+
+    private static Set<String> gramas(String texto) {
+        Set<String> gramas = new HashSet<>();
+        for (int i = 0; i + N <= texto.length(); i++) {
+            gramas.add(texto.substring(i, i + N));
+        }
+        return gramas;
+    }
+
+    private void removerSemLock(Long id) {
+        String anterior = textos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String grama : gramas(anterior)) {
+            Set<Long> lista = postings.get(grama);
+            if (lista != null) {
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    postings.remove(grama);
+                }
+            }
+        }
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    private record Resultado(Long id, int pontuacao) {
+    }
+}
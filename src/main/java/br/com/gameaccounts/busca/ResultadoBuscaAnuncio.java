@@ -0,0 +1,7 @@
+package br.com.gameaccounts.busca;
+
+import br.com.gameaccounts.dto.AnuncioResumo;
+import org.springframework.data.domain.Page;
+
+public record ResultadoBuscaAnuncio(Page<AnuncioResumo> anuncios, Facetas facetas) {
+}
@@ -0,0 +1,4 @@
+package br.com.gameaccounts.busca;
+
+public record TextoIndexado(Long id, String texto) {
+}
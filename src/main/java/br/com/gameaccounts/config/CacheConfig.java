@@ -0,0 +1,42 @@
+package br.com.gameaccounts.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+@ConditionalOnProperty(name = "marketplace.cache.habilitado", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+    public static final String JOGOS = "jogos";
+    public static final String JOGOS_LISTA = "jogosLista";
+    public static final String ANUNCIOS = "anuncios";
+
+    @Bean
+    CacheManager cacheManager(
+            @Value("${marketplace.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${marketplace.cache.jogos.expiracao:1h}") Duration expiracaoJogos,
+            @Value("${marketplace.cache.anuncios.expiracao:10m}") Duration expiracaoAnuncios
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(JOGOS, criar(tamanhoMaximo, expiracaoJogos).build());
+        cacheManager.registerCustomCache(JOGOS_LISTA, criar(1, expiracaoJogos).build());
+        cacheManager.registerCustomCache(ANUNCIOS, criar(tamanhoMaximo, expiracaoAnuncios).build());
+        return cacheManager;
+    }
+
+    private static Caffeine<Object, Object> criar(long tamanhoMaximo, Duration expiracao) {
+        return Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats();
+    }
+}
@@ -1,15 +1,21 @@
 package br.com.gameaccounts.config;
 
+import br.com.gameaccounts.credenciais.HashSenhas;
 import br.com.gameaccounts.model.*;
 import br.com.gameaccounts.repository.*;
+import br.com.gameaccounts.service.AnaliseVendasService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Configuration
+@Profile("!loadtest")
 public class DataLoader {
 
     @Bean
@@ -18,17 +24,19 @@ public class DataLoader {
             JogoRepository jogoRepository,
             ContaJogoRepository contaJogoRepository,
             AnuncioRepository anuncioRepository,
-            TransacaoRepository transacaoRepository
+            TransacaoRepository transacaoRepository,
+            TransactionTemplate transactionTemplate,
+            AnaliseVendasService analiseVendasService,
+            HashSenhas hashSenhas
     ) {
-        return args -> {
+        // Uma única transação permite ao Hibernate agrupar os inserts em lotes JDBC
+        return args -> transactionTemplate.executeWithoutResult(status -> {
             // Criar usuários
-            Usuario usuario1 = new Usuario("João Silva", "joao@email.com", "senha123");
-            Usuario usuario2 = new Usuario("Maria Santos", "maria@email.com", "senha456");
-            Usuario usuario3 = new Usuario("Pedro Oliveira", "pedro@email.com", "senha789");
+            Usuario usuario1 = new Usuario("João Silva", "joao@email.com", hashSenhas.gerarHashSincrono("senha123"));
+            Usuario usuario2 = new Usuario("Maria Santos", "maria@email.com", hashSenhas.gerarHashSincrono("senha456"));
+            Usuario usuario3 = new Usuario("Pedro Oliveira", "pedro@email.com", hashSenhas.gerarHashSincrono("senha789"));
             
-            usuarioRepository.save(usuario1);
-            usuarioRepository.save(usuario2);
-            usuarioRepository.save(usuario3);
+            usuarioRepository.saveAll(List.of(usuario1, usuario2, usuario3));
             
             // Criar jogos
             Jogo jogo1 = new Jogo("League of Legends", "PC");
@@ -36,39 +44,34 @@ public class DataLoader {
             Jogo jogo3 = new Jogo("Valorant", "PC");
             Jogo jogo4 = new Jogo("Counter-Strike 2", "PC");
             
-            jogoRepository.save(jogo1);
-            jogoRepository.save(jogo2);
-            jogoRepository.save(jogo3);
-            jogoRepository.save(jogo4);
+            jogoRepository.saveAll(List.of(jogo1, jogo2, jogo3, jogo4));
             
             // Criar contas de jogos
-            ContaJogo conta1 = new ContaJogo("jogador123", "senha123", jogo1);
-            ContaJogo conta2 = new ContaJogo("proGamer456", "senha456", jogo2);
-            ContaJogo conta3 = new ContaJogo("gameMaster789", "senha789", jogo3);
-            ContaJogo conta4 = new ContaJogo("topPlayer", "senha123", jogo4);
+            ContaJogo conta1 = new ContaJogo("jogador123", "senha123", jogo1, usuario1);
+            ContaJogo conta2 = new ContaJogo("proGamer456", "senha456", jogo2, usuario2);
+            ContaJogo conta3 = new ContaJogo("gameMaster789", "senha789", jogo3, usuario3);
+            ContaJogo conta4 = new ContaJogo("topPlayer", "senha123", jogo4, usuario1);
             
-            contaJogoRepository.save(conta1);
-            contaJogoRepository.save(conta2);
-            contaJogoRepository.save(conta3);
-            contaJogoRepository.save(conta4);
+            contaJogoRepository.saveAll(List.of(conta1, conta2, conta3, conta4));
             
             // Criar anúncios
-            Anuncio anuncio1 = new Anuncio("Conta LoL nível 100 com todas as skins", 150.0, usuario1);
-            Anuncio anuncio2 = new Anuncio("Conta Fortnite com skins raras", 200.0, usuario2);
-            Anuncio anuncio3 = new Anuncio("Conta Valorant com skins exclusivas", 120.0, usuario3);
-            Anuncio anuncio4 = new Anuncio("Conta CS2 com facas raras", 300.0, usuario1);
+            Anuncio anuncio1 = new Anuncio("Conta LoL nível 100 com todas as skins", 150.0, usuario1, jogo1);
+            Anuncio anuncio2 = new Anuncio("Conta Fortnite com skins raras", 200.0, usuario2, jogo2);
+            Anuncio anuncio3 = new Anuncio("Conta Valorant com skins exclusivas", 120.0, usuario3, jogo3);
+            Anuncio anuncio4 = new Anuncio("Conta CS2 com facas raras", 300.0, usuario1, jogo4);
             
-            anuncioRepository.save(anuncio1);
-            anuncioRepository.save(anuncio2);
-            anuncioRepository.save(anuncio3);
-            anuncioRepository.save(anuncio4);
+            // Os dois primeiros já foram vendidos pelas transações abaixo
+            anuncio1.marcarVendido();
+            anuncio2.marcarVendido();
+            anuncioRepository.saveAll(List.of(anuncio1, anuncio2, anuncio3, anuncio4));
             
             // Criar transações
             Transacao transacao1 = new Transacao(LocalDateTime.now().minusDays(5), 150.0, anuncio1);
             Transacao transacao2 = new Transacao(LocalDateTime.now().minusDays(3), 200.0, anuncio2);
             
-            transacaoRepository.save(transacao1);
-            transacaoRepository.save(transacao2);
-        };
+            transacaoRepository.saveAll(List.of(transacao1, transacao2));
+            analiseVendasService.registrar(transacao1.getData(), transacao1.getValor(), jogo1.getId(), usuario1.getId(), 1);
+            analiseVendasService.registrar(transacao2.getData(), transacao2.getValor(), jogo2.getId(), usuario2.getId(), 1);
+        });
     }
 } 
\ No newline at end of file
@@ -0,0 +1,66 @@
+package br.com.gameaccounts.config;
+
+import br.com.gameaccounts.limite.LimitadorRequisicoes;
+import br.com.gameaccounts.limite.LimiteConcorrencia;
+import br.com.gameaccounts.limite.LimiteRequisicoesInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Limite de taxa por cliente e endpoint e descarte de carga pela espera do pool JDBC.
+ * O interceptor roda antes dos demais, para que uma requisição recusada não chegue a abrir
+ * EntityManager. O actuator fica de fora: o monitoramento precisa continuar respondendo
+ * justamente quando a aplicação está descartando carga.
+ */
+@Configuration
+@ConditionalOnProperty(name = "marketplace.limite.habilitado", havingValue = "true", matchIfMissing = true)
+public class LimiteConfig implements WebMvcConfigurer {
+    @Autowired
+    private ObjectProvider<LimiteRequisicoesInterceptor> interceptor;
+
+    @Bean
+    LimitadorRequisicoes limitadorRequisicoes(
+            @Value("${marketplace.limite.busca.taxa:10}") double taxaBusca,
+            @Value("${marketplace.limite.busca.rajada:20}") int rajadaBusca,
+            @Value("${marketplace.limite.crud.taxa:100}") double taxaCrud,
+            @Value("${marketplace.limite.crud.rajada:200}") int rajadaCrud,
+            @Value("${marketplace.limite.baldes:100000}") long maximoBaldes
+    ) {
+        return new LimitadorRequisicoes(new LimitadorRequisicoes.Limite(taxaBusca, rajadaBusca),
+                new LimitadorRequisicoes.Limite(taxaCrud, rajadaCrud), maximoBaldes);
+    }
+
+    @Bean
+    LimiteConcorrencia limiteConcorrencia(
+            @Value("${marketplace.limite.concorrencia.minimo:8}") int minimo,
+            @Value("${marketplace.limite.concorrencia.maximo:400}") int maximo,
+            @Value("${marketplace.limite.concorrencia.espera-alvo:20ms}") Duration esperaAlvo,
+            MeterRegistry registry
+    ) {
+        return new LimiteConcorrencia(minimo, maximo, esperaAlvo, registry);
+    }
+
+    @Bean
+    LimiteRequisicoesInterceptor limiteRequisicoesInterceptor(LimitadorRequisicoes limitador,
+                                                              LimiteConcorrencia concorrencia,
+                                                              MeterRegistry registry) {
+        return new LimiteRequisicoesInterceptor(limitador, concorrencia, registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor.getObject())
+                .excludePathPatterns("/actuator/**", "/h2-console/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.gameaccounts.config;
+
+import br.com.gameaccounts.credenciais.CifraSenhas;
+import br.com.gameaccounts.credenciais.HashSenhas;
+import br.com.gameaccounts.massa.GeradorMassaDados;
+import br.com.gameaccounts.massa.MassaDadosProperties;
+import br.com.gameaccounts.service.AnaliseVendasService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * No perfil {@code loadtest} substitui o {@link DataLoader} por uma massa sintética em
+ * volume de produção, configurada pelas propriedades {@code marketplace.massa.*}.
+ */
+@Configuration
+@Profile("loadtest")
+@EnableConfigurationProperties(MassaDadosProperties.class)
+public class MassaDadosLoader {
+    private static final Logger log = LoggerFactory.getLogger(MassaDadosLoader.class);
+
+    @Bean
+    CommandLineRunner gerarMassaDados(JdbcTemplate jdbcTemplate, MassaDadosProperties propriedades,
+                                      AnaliseVendasService analiseVendasService, HashSenhas hashSenhas,
+                                      CifraSenhas cifraSenhas) {
+        return args -> {
+            // Todos os usuários sintéticos entram com a senha "senha123"
+            new GeradorMassaDados(jdbcTemplate, propriedades, hashSenhas.gerarHashSincrono("senha123"),
+                    cifraSenhas::cifrar).gerar();
+            log.info("Rollups de venda reprocessados: {}", analiseVendasService.reprocessar(null, null));
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.gameaccounts.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Substitui o open-in-view padrão do Spring Boot (desligado em
+ * {@code spring.jpa.open-in-view}) pelo mesmo interceptor, mas fora dos canais SSE:
+ * cada conexão ociosa manteria um EntityManager aberto até o cliente desconectar.
+ */
+@Configuration
+public class OpenEntityManagerConfig implements WebMvcConfigurer {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns("/mensagens/stream/**");
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.gameaccounts.config;
+
+import br.com.gameaccounts.replica.AderenciaPrimarioInterceptor;
+import br.com.gameaccounts.replica.MonitorReplica;
+import br.com.gameaccounts.replica.RoteadorDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Pool de leitura numa réplica, ativo quando {@code marketplace.replica.url} está definido.
+ * O primário continua configurado por {@code spring.datasource.*}; a réplica herda driver e
+ * credenciais dele, e o pool dela é ajustado em {@code marketplace.replica.hikari.*}. O
+ * {@link DataSource} principal, usado pelo JPA e pelos JdbcTemplates, é o roteador atrás
+ * do proxy de conexão tardia. Sem a propriedade, tudo segue no pool padrão do Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "marketplace.replica.url")
+public class ReplicaConfig implements WebMvcConfigurer {
+    @Value("${marketplace.replica.aderencia:5s}")
+    private Duration aderencia;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        HikariDataSource dataSource = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("marketplace.replica.hikari")
+    HikariDataSource dataSourceReplica(
+            DataSourceProperties propriedades,
+            @Value("${marketplace.replica.url}") String url,
+            @Value("${marketplace.replica.username:}") String usuario,
+            @Value("${marketplace.replica.password:}") String senha
+    ) {
+        HikariDataSource dataSource = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url)
+                .username(usuario.isEmpty() ? propriedades.determineUsername() : usuario)
+                .password(senha.isEmpty() ? propriedades.determinePassword() : senha)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    MonitorReplica monitorReplica(
+            @Qualifier("dataSourcePrimario") DataSource primario,
+            @Qualifier("dataSourceReplica") DataSource replica,
+            @Value("${marketplace.replica.batimento:500ms}") Duration batimento,
+            @Value("${marketplace.replica.atraso-maximo:2s}") Duration atrasoMaximo,
+            MeterRegistry registry
+    ) {
+        return new MonitorReplica(primario, replica, batimento, atrasoMaximo, registry);
+    }
+
+    @Bean
+    RoteadorDataSource roteadorDataSource(
+            @Qualifier("dataSourcePrimario") DataSource primario,
+            @Qualifier("dataSourceReplica") DataSource replica,
+            MonitorReplica monitor,
+            MeterRegistry registry
+    ) {
+        return new RoteadorDataSource(primario, replica, monitor, registry);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(RoteadorDataSource roteador) {
+        return new LazyConnectionDataSourceProxy(roteador);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AderenciaPrimarioInterceptor(aderencia))
+                .excludePathPatterns("/actuator/**", "/h2-console/**");
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.gameaccounts.config;
+
+import br.com.gameaccounts.dto.Referencia;
+import br.com.gameaccounts.model.Jogo;
+import br.com.gameaccounts.model.Usuario;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Formatos de resposta além do JSON, escolhidos pelo cabeçalho {@code Accept}:
+ * <ul>
+ *   <li>{@code application/cbor} e {@code application/x-jackson-smile}, binários compactos;</li>
+ *   <li>{@value #REFERENCIAS_JSON}, JSON em que cada usuário e jogo sai completo só na
+ *   primeira ocorrência da resposta e depois apenas pelo id.</li>
+ * </ul>
+ * Todos partem do {@link Jackson2ObjectMapperBuilder} do Spring Boot, com as mesmas
+ * configurações do JSON. Clientes sem preferência de formato continuam recebendo JSON.
+ */
+@Configuration
+public class SerializacaoConfig implements WebMvcConfigurer {
+    public static final String REFERENCIAS_JSON = "application/vnd.marketplace.referencias+json";
+
+    @Autowired
+    private ObjectProvider<Jackson2ObjectMapperBuilder> construtores;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(conversor -> conversor instanceof MappingJackson2CborHttpMessageConverter
+                || conversor instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(mapperCbor(construtores.getObject())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(mapperSmile(construtores.getObject())));
+        // Antes do conversor JSON padrão, que também aceitaria application/*+json
+        int json = 0;
+        while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+            json++;
+        }
+        converters.add(json, new ConversorReferencias(mapperReferencias(construtores.getObject())));
+    }
+
+    public static ObjectMapper mapperCbor(Jackson2ObjectMapperBuilder construtor) {
+        return construtor.factory(new CBORFactory()).build();
+    }
+
+    public static ObjectMapper mapperSmile(Jackson2ObjectMapperBuilder construtor) {
+        return construtor.factory(new SmileFactory()).build();
+    }
+
+    public static ObjectMapper mapperReferencias(Jackson2ObjectMapperBuilder construtor) {
+        return construtor
+                .mixIn(Usuario.class, UsuarioCompartilhado.class)
+                .mixIn(Jogo.class, JogoCompartilhado.class)
+                .serializerByType(Referencia.class, new ReferenciaCompartilhada(""))
+                .build();
+    }
+
+    /**
+     * Só escreve, e só quando o cliente pede o tipo explicitamente: fora da lista de tipos
+     * produzíveis, um cliente sem preferência de formato nunca cai aqui.
+     */
+    private static class ConversorReferencias extends MappingJackson2HttpMessageConverter {
+        ConversorReferencias(ObjectMapper mapper) {
+            super(mapper);
+            setSupportedMediaTypes(List.of(MediaType.parseMediaType(REFERENCIAS_JSON)));
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return mediaType != null && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        public boolean canRead(Class<?> clazz, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+            return false;
+        }
+    }
+
+    // Nas entidades a identidade é por tipo: o usuário 1 e o jogo 1 não podem ser confundidos
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id", scope = Usuario.class)
+    private abstract static class UsuarioCompartilhado {
+    }
+
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id", scope = Jogo.class)
+    private abstract static class JogoCompartilhado {
+    }
+
+    /**
+     * Nos resumos usuário e jogo são a mesma {@link Referencia}, então a identidade é por
+     * propriedade: a primeira ocorrência de cada id sai completa e as seguintes só com o id.
+     */
+    private static class ReferenciaCompartilhada extends StdSerializer<Referencia> implements ContextualSerializer {
+        private static final Object VISTAS = ReferenciaCompartilhada.class;
+
+        private final String escopo;
+
+        ReferenciaCompartilhada(String escopo) {
+            super(Referencia.class);
+            this.escopo = escopo;
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty propriedade) {
+            return new ReferenciaCompartilhada(propriedade == null ? "" : propriedade.getName());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void serialize(Referencia referencia, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            // Atributos do provider valem só para esta serialização, ou seja, esta resposta
+            Set<String> vistas = (Set<String>) provider.getAttribute(VISTAS);
+            if (vistas == null) {
+                vistas = new HashSet<>();
+                provider.setAttribute(VISTAS, vistas);
+            }
+            if (!vistas.add(escopo + ":" + referencia.id())) {
+                gerador.writeNumber(referencia.id());
+                return;
+            }
+            gerador.writeStartObject();
+            gerador.writeNumberField("id", referencia.id());
+            gerador.writeStringField("nome", referencia.nome());
+            gerador.writeEndObject();
+        }
+    }
+}
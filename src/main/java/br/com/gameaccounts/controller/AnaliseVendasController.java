@@ -0,0 +1,40 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.dto.PontoVenda;
+import br.com.gameaccounts.dto.ResultadoReprocessamento;
+import br.com.gameaccounts.model.Granularidade;
+import br.com.gameaccounts.service.AnaliseVendasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/analise/vendas")
+public class AnaliseVendasController {
+    @Autowired
+    private AnaliseVendasService service;
+
+    @GetMapping
+    public List<PontoVenda> consultar(
+            @RequestParam(value = "granularidade", defaultValue = "DIA") Granularidade granularidade,
+            @RequestParam(value = "de") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(value = "ate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(value = "jogoId", required = false) Long jogoId,
+            @RequestParam(value = "vendedorId", required = false) Long vendedorId,
+            @RequestParam(value = "agrupar", defaultValue = "total") String agrupar
+    ) {
+        return service.consultar(granularidade, de, ate, jogoId, vendedorId, agrupar);
+    }
+
+    @PostMapping("/reprocessar")
+    public ResultadoReprocessamento reprocessar(
+            @RequestParam(value = "de", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(value = "ate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate
+    ) {
+        return service.reprocessar(de, ate);
+    }
+}
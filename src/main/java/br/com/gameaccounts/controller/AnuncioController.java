@@ -1,16 +1,38 @@
 package br.com.gameaccounts.controller;
 
+import br.com.gameaccounts.busca.FiltroAnuncio;
+import br.com.gameaccounts.busca.ResultadoBuscaAnuncio;
+import br.com.gameaccounts.dto.AnuncioResumo;
+import br.com.gameaccounts.dto.CompraAnuncio;
+import br.com.gameaccounts.dto.ResultadoExclusao;
+import br.com.gameaccounts.dto.VersaoRecurso;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.http.RespostaCondicional;
+import br.com.gameaccounts.lote.ResultadoLote;
 import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.Transacao;
+import br.com.gameaccounts.paginacao.CursorCodec;
+import br.com.gameaccounts.paginacao.PaginaCursor;
 import br.com.gameaccounts.service.AnuncioService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,13 +42,25 @@ public class AnuncioController {
     @Autowired
     private AnuncioService service;
 
+    @Autowired
+    private CursorCodec cursorCodec;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<Anuncio> listarAnuncios() {
+    public List<AnuncioResumo> listarAnuncios() {
         return service.listarAnuncios();
     }
     
-    @GetMapping("/paginados")
-    public Page<Anuncio> listarAnunciosPaginados(
+    @GetMapping(value = "/export", produces = ExportadorNdjson.MEDIA_TYPE)
+    public void exportarAnuncios(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportadorNdjson.MEDIA_TYPE);
+        service.exportarAnuncios(response.getOutputStream());
+    }
+    
+    @GetMapping(value = "/paginados", params = "page")
+    public Page<AnuncioResumo> listarAnunciosPaginados(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
             @RequestParam(value = "sort", defaultValue = "preco") String sort,
@@ -37,6 +71,37 @@ public class AnuncioController {
         return service.listarAnunciosPaginados(pageable);
     }
     
+    @GetMapping(value = "/paginados", params = "!page")
+    public PaginaCursor<AnuncioResumo> listarAnunciosPorCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "preco") String sort,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction
+    ) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort ordem = Sort.by(sortDirection, sort);
+        Window<AnuncioResumo> janela = service.listarAnunciosPorCursor(cursorCodec.decodificar(cursor, Anuncio.class, ordem), ordem, size);
+        return cursorCodec.paraPagina(janela, ordem);
+    }
+    
+    @GetMapping("/busca")
+    public ResultadoBuscaAnuncio buscar(
+            @RequestParam(value = "precoMin", required = false) Double precoMin,
+            @RequestParam(value = "precoMax", required = false) Double precoMax,
+            @RequestParam(value = "descricao", required = false) String descricao,
+            @RequestParam(value = "usuarioId", required = false) Long usuarioId,
+            @RequestParam(value = "jogoId", required = false) Long jogoId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "preco") String sort,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction
+    ) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sort));
+        FiltroAnuncio filtro = new FiltroAnuncio(precoMin, precoMax, descricao, usuarioId, jogoId);
+        return service.buscar(filtro, pageable);
+    }
+    
     @GetMapping("/busca/descricao")
     public Page<Anuncio> buscarPorDescricao(
             @RequestParam(value = "descricao") String descricao,
@@ -68,9 +133,13 @@ public class AnuncioController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Anuncio> buscarPorId(@PathVariable Long id) {
-        Optional<Anuncio> anuncio = service.buscarPorId(id);
-        return anuncio.map(ResponseEntity::ok)
+    public ResponseEntity<Anuncio> buscarPorId(@PathVariable Long id, HttpServletRequest request) {
+        Optional<VersaoRecurso> versao = service.buscarVersao(id);
+        if (versao.isPresent() && RespostaCondicional.naoModificado(request, versao.get())) {
+            return RespostaCondicional.naoModificada(versao.get());
+        }
+        Optional<Anuncio> anuncio = versao.flatMap(v -> service.buscarPorId(id));
+        return anuncio.map(a -> RespostaCondicional.ok(a, VersaoRecurso.de(a)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -80,17 +149,43 @@ public class AnuncioController {
         return service.cadastrarAnuncio(anuncio);
     }
     
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, ExportadorNdjson.MEDIA_TYPE})
+    public List<ResultadoLote> cadastrarAnunciosEmLote(HttpServletRequest request) throws IOException {
+        try (MappingIterator<Anuncio> itens = objectMapper.readerFor(Anuncio.class).readValues(request.getInputStream())) {
+            return service.cadastrarAnunciosEmLote(itens);
+        }
+    }
+    
+    @PostMapping("/{id}/comprar")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Transacao comprarAnuncio(@PathVariable Long id, @RequestBody CompraAnuncio compra) {
+        return service.comprarAnuncio(id, compra.metodo());
+    }
+    
     @PutMapping("/{id}")
-    public ResponseEntity<Anuncio> atualizarAnuncio(@PathVariable Long id, @RequestBody Anuncio anuncio) {
-        Anuncio anuncioAtualizado = service.atualizarAnuncio(id, anuncio);
+    public ResponseEntity<Anuncio> atualizarAnuncio(@PathVariable Long id, @RequestBody Anuncio anuncio,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Anuncio anuncioAtualizado = service.atualizarAnuncio(id, anuncio, RespostaCondicional.versaoEsperada(ifMatch));
         return anuncioAtualizado != null ? 
                 ResponseEntity.ok(anuncioAtualizado) : 
                 ResponseEntity.notFound().build();
     }
 
+    @PatchMapping(value = "/{id}", consumes = {AtualizacaoParcial.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void atualizarAnuncioParcialmente(@PathVariable Long id, @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.atualizarParcialmente(id, patch, RespostaCondicional.versaoEsperada(ifMatch));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deletarAnuncio(@PathVariable Long id) {
         service.deletarAnuncio(id);
     }
+
+    @DeleteMapping(params = "ids")
+    public ResultadoExclusao deletarAnuncios(@RequestParam("ids") List<Long> ids) {
+        return service.deletarAnuncios(ids);
+    }
 }
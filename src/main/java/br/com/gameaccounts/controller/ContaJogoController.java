@@ -1,18 +1,37 @@
 package br.com.gameaccounts.controller;
 
+import br.com.gameaccounts.dto.CredenciaisConta;
+import br.com.gameaccounts.dto.Login;
+import br.com.gameaccounts.dto.VersaoRecurso;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.http.RespostaCondicional;
+import br.com.gameaccounts.lote.ResultadoLote;
 import br.com.gameaccounts.model.ContaJogo;
+import br.com.gameaccounts.paginacao.CursorCodec;
+import br.com.gameaccounts.paginacao.PaginaCursor;
 import br.com.gameaccounts.service.ContaJogoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/contas")
@@ -20,12 +39,28 @@ public class ContaJogoController {
     @Autowired
     private ContaJogoService service;
 
+    @Autowired
+    private CursorCodec cursorCodec;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<ContaJogo> listarContasJogo() {
-        return service.listarContasJogo();
+    public ResponseEntity<List<ContaJogo>> listarContasJogo(HttpServletRequest request) {
+        VersaoRecurso versao = service.versaoListagem();
+        if (RespostaCondicional.naoModificado(request, versao)) {
+            return RespostaCondicional.naoModificada(versao);
+        }
+        return RespostaCondicional.ok(service.listarContasJogo(), versao);
     }
     
-    @GetMapping("/paginados")
+    @GetMapping(value = "/export", produces = ExportadorNdjson.MEDIA_TYPE)
+    public void exportarContasJogo(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportadorNdjson.MEDIA_TYPE);
+        service.exportarContasJogo(response.getOutputStream());
+    }
+    
+    @GetMapping(value = "/paginados", params = "page")
     public Page<ContaJogo> listarContasJogoPaginadas(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
@@ -37,27 +72,82 @@ public class ContaJogoController {
         return service.listarContasJogoPaginadas(pageable);
     }
     
+    @GetMapping(value = "/paginados", params = "!page")
+    public PaginaCursor<ContaJogo> listarContasJogoPorCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "login") String sort,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction
+    ) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort ordem = Sort.by(sortDirection, sort);
+        Window<ContaJogo> janela = service.listarContasJogoPorCursor(cursorCodec.decodificar(cursor, ContaJogo.class, ordem), ordem, size);
+        return cursorCodec.paraPagina(janela, ordem);
+    }
+    
+    @GetMapping("/jogo/{jogoId}")
+    public Page<ContaJogo> listarPorJogo(
+            @PathVariable Long jogoId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        return service.listarPorJogo(jogoId, PageRequest.of(page, size, Sort.by("id")));
+    }
+
+    @GetMapping("/usuario/{usuarioId}")
+    public Page<ContaJogo> listarPorUsuario(
+            @PathVariable Long usuarioId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        return service.listarPorUsuario(usuarioId, PageRequest.of(page, size, Sort.by("id")));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ContaJogo> buscarPorId(@PathVariable Long id) {
-        Optional<ContaJogo> contaJogo = service.buscarPorId(id);
-        return contaJogo.map(ResponseEntity::ok)
+    public ResponseEntity<ContaJogo> buscarPorId(@PathVariable Long id, HttpServletRequest request) {
+        Optional<VersaoRecurso> versao = service.buscarVersao(id);
+        if (versao.isPresent() && RespostaCondicional.naoModificado(request, versao.get())) {
+            return RespostaCondicional.naoModificada(versao.get());
+        }
+        Optional<ContaJogo> contaJogo = versao.flatMap(v -> service.buscarPorId(id));
+        return contaJogo.map(c -> RespostaCondicional.ok(c, VersaoRecurso.de(c)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/{id}/credenciais")
+    public CompletableFuture<CredenciaisConta> revelarCredenciais(@PathVariable Long id, @RequestBody Login login) {
+        return service.revelarCredenciais(id, login.email(), login.senha());
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ContaJogo cadastrarContaJogo(@RequestBody ContaJogo contaJogo) {
         return service.cadastrarContaJogo(contaJogo);
     }
     
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, ExportadorNdjson.MEDIA_TYPE})
+    public List<ResultadoLote> cadastrarContasJogoEmLote(HttpServletRequest request) throws IOException {
+        try (MappingIterator<ContaJogo> itens = objectMapper.readerFor(ContaJogo.class).readValues(request.getInputStream())) {
+            return service.cadastrarContasJogoEmLote(itens);
+        }
+    }
+    
     @PutMapping("/{id}")
-    public ResponseEntity<ContaJogo> atualizarContaJogo(@PathVariable Long id, @RequestBody ContaJogo contaJogo) {
-        ContaJogo contaJogoAtualizada = service.atualizarContaJogo(id, contaJogo);
+    public ResponseEntity<ContaJogo> atualizarContaJogo(@PathVariable Long id, @RequestBody ContaJogo contaJogo,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ContaJogo contaJogoAtualizada = service.atualizarContaJogo(id, contaJogo, RespostaCondicional.versaoEsperada(ifMatch));
         return contaJogoAtualizada != null ? 
                 ResponseEntity.ok(contaJogoAtualizada) : 
                 ResponseEntity.notFound().build();
     }
 
+    @PatchMapping(value = "/{id}", consumes = {AtualizacaoParcial.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void atualizarContaJogoParcialmente(@PathVariable Long id, @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.atualizarParcialmente(id, patch, RespostaCondicional.versaoEsperada(ifMatch));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deletarContaJogo(@PathVariable Long id) {
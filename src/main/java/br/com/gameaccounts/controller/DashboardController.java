@@ -0,0 +1,18 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.dto.ResumoDashboard;
+import br.com.gameaccounts.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+    @Autowired
+    private DashboardService service;
+
+    @GetMapping("/resumo")
+    public ResumoDashboard resumo() {
+        return service.resumo();
+    }
+}
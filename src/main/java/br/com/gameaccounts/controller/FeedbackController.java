@@ -0,0 +1,44 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.model.Feedback;
+import br.com.gameaccounts.service.FeedbackService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/feedbacks")
+public class FeedbackController {
+    @Autowired
+    private FeedbackService service;
+
+    @GetMapping("/usuario/{usuarioId}")
+    public Page<Feedback> listarPorUsuario(
+            @PathVariable Long usuarioId,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "id"));
+        return service.listarPorUsuario(usuarioId, pageable);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Feedback> buscarPorId(@PathVariable Long id) {
+        Optional<Feedback> feedback = service.buscarPorId(id);
+        return feedback.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Feedback cadastrarFeedback(@RequestBody Feedback feedback) {
+        return service.cadastrarFeedback(feedback);
+    }
+}
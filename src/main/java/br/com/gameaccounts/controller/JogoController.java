@@ -1,16 +1,29 @@
 package br.com.gameaccounts.controller;
 
+import br.com.gameaccounts.dto.VersaoColecao;
+import br.com.gameaccounts.dto.VersaoRecurso;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.http.RespostaCondicional;
 import br.com.gameaccounts.model.Jogo;
+import br.com.gameaccounts.paginacao.CursorCodec;
+import br.com.gameaccounts.paginacao.PaginaCursor;
 import br.com.gameaccounts.service.JogoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +33,22 @@ public class JogoController {
     @Autowired
     private JogoService service;
 
+    @Autowired
+    private CursorCodec cursorCodec;
+
     @GetMapping
-    public List<Jogo> listarJogos() {
-        return service.listarJogos();
+    public ResponseEntity<List<Jogo>> listarJogos() {
+        List<Jogo> jogos = service.listarJogos();
+        return RespostaCondicional.ok(jogos, VersaoRecurso.colecao(VersaoColecao.deJogos(jogos)));
+    }
+    
+    @GetMapping(value = "/export", produces = ExportadorNdjson.MEDIA_TYPE)
+    public void exportarJogos(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportadorNdjson.MEDIA_TYPE);
+        service.exportarJogos(response.getOutputStream());
     }
     
-    @GetMapping("/paginados")
+    @GetMapping(value = "/paginados", params = "page")
     public Page<Jogo> listarJogosPaginados(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
@@ -37,10 +60,24 @@ public class JogoController {
         return service.listarJogosPaginados(pageable);
     }
     
+    @GetMapping(value = "/paginados", params = "!page")
+    public PaginaCursor<Jogo> listarJogosPorCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "nome") String sort,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction
+    ) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort ordem = Sort.by(sortDirection, sort);
+        Window<Jogo> janela = service.listarJogosPorCursor(cursorCodec.decodificar(cursor, Jogo.class, ordem), ordem, size);
+        return cursorCodec.paraPagina(janela, ordem);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Jogo> buscarPorId(@PathVariable Long id) {
+        // Jogos vêm do cache, então o ETag sai direto da entidade
         Optional<Jogo> jogo = service.buscarPorId(id);
-        return jogo.map(ResponseEntity::ok)
+        return jogo.map(j -> RespostaCondicional.ok(j, VersaoRecurso.de(j)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -51,13 +88,21 @@ public class JogoController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Jogo> atualizarJogo(@PathVariable Long id, @RequestBody Jogo jogo) {
-        Jogo jogoAtualizado = service.atualizarJogo(id, jogo);
+    public ResponseEntity<Jogo> atualizarJogo(@PathVariable Long id, @RequestBody Jogo jogo,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Jogo jogoAtualizado = service.atualizarJogo(id, jogo, RespostaCondicional.versaoEsperada(ifMatch));
         return jogoAtualizado != null ? 
                 ResponseEntity.ok(jogoAtualizado) : 
                 ResponseEntity.notFound().build();
     }
 
+    @PatchMapping(value = "/{id}", consumes = {AtualizacaoParcial.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void atualizarJogoParcialmente(@PathVariable Long id, @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.atualizarParcialmente(id, patch, RespostaCondicional.versaoEsperada(ifMatch));
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deletarJogo(@PathVariable Long id) {
@@ -0,0 +1,63 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.dto.MensagemResumo;
+import br.com.gameaccounts.dto.NovaMensagem;
+import br.com.gameaccounts.model.Mensagem;
+import br.com.gameaccounts.paginacao.CursorCodec;
+import br.com.gameaccounts.paginacao.PaginaCursor;
+import br.com.gameaccounts.service.MensagemService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/mensagens")
+public class MensagemController {
+    private static final int TAMANHO_MAXIMO = 100;
+    private static final Sort ORDEM_CONVERSA = Sort.by(Sort.Direction.DESC, "id");
+
+    @Autowired
+    private MensagemService service;
+
+    @Autowired
+    private CursorCodec cursorCodec;
+
+    @GetMapping(value = "/stream/{usuarioId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter conectar(@PathVariable Long usuarioId) {
+        return service.conectar(usuarioId);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void enviarMensagem(@RequestBody NovaMensagem mensagem) {
+        service.enviarMensagem(mensagem);
+    }
+
+    @GetMapping("/conversa")
+    public PaginaCursor<MensagemResumo> listarConversa(
+            @RequestParam(value = "usuarioA") Long usuarioA,
+            @RequestParam(value = "usuarioB") Long usuarioB,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        int tamanho = Math.clamp(size, 1, TAMANHO_MAXIMO);
+        KeysetScrollPosition posicao = (KeysetScrollPosition) cursorCodec.decodificar(cursor, Mensagem.class, ORDEM_CONVERSA);
+        Object antesDe = posicao.getKeys().get("id");
+        List<MensagemResumo> mensagens = service.listarConversa(usuarioA, usuarioB,
+                antesDe instanceof Long id ? id : Long.MAX_VALUE, tamanho + 1);
+        boolean temProxima = mensagens.size() > tamanho;
+        List<MensagemResumo> conteudo = temProxima ? mensagens.subList(0, tamanho) : mensagens;
+        String proximoCursor = temProxima
+                ? cursorCodec.codificar(ScrollPosition.forward(Map.of("id", conteudo.get(tamanho - 1).id())), ORDEM_CONVERSA)
+                : null;
+        return new PaginaCursor<>(conteudo, conteudo.size(), temProxima, proximoCursor);
+    }
+}
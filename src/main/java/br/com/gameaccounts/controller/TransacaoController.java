@@ -1,16 +1,23 @@
 package br.com.gameaccounts.controller;
 
+import br.com.gameaccounts.dto.TransacaoResumo;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
 import br.com.gameaccounts.model.Transacao;
+import br.com.gameaccounts.paginacao.CursorCodec;
+import br.com.gameaccounts.paginacao.PaginaCursor;
 import br.com.gameaccounts.service.TransacaoService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,13 +27,22 @@ public class TransacaoController {
     @Autowired
     private TransacaoService service;
 
+    @Autowired
+    private CursorCodec cursorCodec;
+
     @GetMapping
-    public List<Transacao> listarTransacoes() {
+    public List<TransacaoResumo> listarTransacoes() {
         return service.listarTransacoes();
     }
     
-    @GetMapping("/paginados")
-    public Page<Transacao> listarTransacoesPaginadas(
+    @GetMapping(value = "/export", produces = ExportadorNdjson.MEDIA_TYPE)
+    public void exportarTransacoes(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportadorNdjson.MEDIA_TYPE);
+        service.exportarTransacoes(response.getOutputStream());
+    }
+    
+    @GetMapping(value = "/paginados", params = "page")
+    public Page<TransacaoResumo> listarTransacoesPaginadas(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
             @RequestParam(value = "sort", defaultValue = "data") String sort,
@@ -37,6 +53,19 @@ public class TransacaoController {
         return service.listarTransacoesPaginadas(pageable);
     }
     
+    @GetMapping(value = "/paginados", params = "!page")
+    public PaginaCursor<Transacao> listarTransacoesPorCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "data") String sort,
+            @RequestParam(value = "direction", defaultValue = "DESC") String direction
+    ) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort ordem = Sort.by(sortDirection, sort);
+        Window<Transacao> janela = service.listarTransacoesPorCursor(cursorCodec.decodificar(cursor, Transacao.class, ordem), ordem, size);
+        return cursorCodec.paraPagina(janela, ordem);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<Transacao> buscarPorId(@PathVariable Long id) {
         Optional<Transacao> transacao = service.buscarPorId(id);
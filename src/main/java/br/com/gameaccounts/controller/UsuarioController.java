@@ -1,18 +1,36 @@
 package br.com.gameaccounts.controller;
 
+import br.com.gameaccounts.dto.Login;
+import br.com.gameaccounts.dto.Reputacao;
+import br.com.gameaccounts.dto.UsuarioResumo;
+import br.com.gameaccounts.dto.VersaoRecurso;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.http.RespostaCondicional;
 import br.com.gameaccounts.model.Usuario;
+import br.com.gameaccounts.paginacao.CursorCodec;
+import br.com.gameaccounts.paginacao.PaginaCursor;
+import br.com.gameaccounts.service.ReputacaoService;
 import br.com.gameaccounts.service.UsuarioService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/usuarios")
@@ -20,13 +38,29 @@ public class UsuarioController {
     @Autowired
     private UsuarioService service;
 
+    @Autowired
+    private ReputacaoService reputacaoService;
+
+    @Autowired
+    private CursorCodec cursorCodec;
+
     @GetMapping
-    public List<Usuario> listarUsuarios() {
-        return service.listarUsuarios();
+    public ResponseEntity<List<UsuarioResumo>> listarUsuarios(HttpServletRequest request) {
+        VersaoRecurso versao = service.versaoListagem();
+        if (RespostaCondicional.naoModificado(request, versao)) {
+            return RespostaCondicional.naoModificada(versao);
+        }
+        return RespostaCondicional.ok(service.listarUsuarios(), versao);
+    }
+    
+    @GetMapping(value = "/export", produces = ExportadorNdjson.MEDIA_TYPE)
+    public void exportarUsuarios(HttpServletResponse response) throws IOException {
+        response.setContentType(ExportadorNdjson.MEDIA_TYPE);
+        service.exportarUsuarios(response.getOutputStream());
     }
     
-    @GetMapping("/paginados")
-    public Page<Usuario> listarUsuariosPaginados(
+    @GetMapping(value = "/paginados", params = "page")
+    public Page<UsuarioResumo> listarUsuariosPaginados(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
             @RequestParam(value = "sort", defaultValue = "nome") String sort,
@@ -37,6 +71,19 @@ public class UsuarioController {
         return service.listarUsuariosPaginados(pageable);
     }
     
+    @GetMapping(value = "/paginados", params = "!page")
+    public PaginaCursor<Usuario> listarUsuariosPorCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "nome") String sort,
+            @RequestParam(value = "direction", defaultValue = "ASC") String direction
+    ) {
+        Sort.Direction sortDirection = direction.equalsIgnoreCase("DESC") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort ordem = Sort.by(sortDirection, sort);
+        Window<Usuario> janela = service.listarUsuariosPorCursor(cursorCodec.decodificar(cursor, Usuario.class, ordem), ordem, size);
+        return cursorCodec.paraPagina(janela, ordem);
+    }
+    
     @GetMapping("/busca/nome")
     public Page<Usuario> buscarPorNome(
             @RequestParam(value = "nome") String nome,
@@ -58,24 +105,46 @@ public class UsuarioController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Usuario> buscarPorId(@PathVariable Long id) {
-        Optional<Usuario> usuario = service.buscarPorId(id);
-        return usuario.map(ResponseEntity::ok)
+    public ResponseEntity<Usuario> buscarPorId(@PathVariable Long id, HttpServletRequest request) {
+        Optional<VersaoRecurso> versao = service.buscarVersao(id);
+        if (versao.isPresent() && RespostaCondicional.naoModificado(request, versao.get())) {
+            return RespostaCondicional.naoModificada(versao.get());
+        }
+        Optional<Usuario> usuario = versao.flatMap(v -> service.buscarPorId(id));
+        return usuario.map(u -> RespostaCondicional.ok(u, VersaoRecurso.de(u)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/reputacao")
+    public Reputacao buscarReputacao(@PathVariable Long id) {
+        return reputacaoService.buscar(id);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Usuario cadastrarUsuario(@RequestBody Usuario usuario) {
+    public CompletableFuture<Usuario> cadastrarUsuario(@RequestBody Usuario usuario) {
         return service.cadastrarUsuario(usuario);
     }
+
+    @PostMapping("/login")
+    public CompletableFuture<UsuarioResumo> autenticar(@RequestBody Login login) {
+        return service.autenticar(login.email(), login.senha());
+    }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Usuario> atualizarUsuario(@PathVariable Long id, @RequestBody Usuario usuario) {
-        Usuario usuarioAtualizado = service.atualizarUsuario(id, usuario);
-        return usuarioAtualizado != null ? 
-                ResponseEntity.ok(usuarioAtualizado) : 
-                ResponseEntity.notFound().build();
+    public CompletableFuture<ResponseEntity<Usuario>> atualizarUsuario(@PathVariable Long id, @RequestBody Usuario usuario,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return service.atualizarUsuario(id, usuario, RespostaCondicional.versaoEsperada(ifMatch)).thenApply(usuarioAtualizado ->
+                usuarioAtualizado != null ?
+                        ResponseEntity.ok(usuarioAtualizado) :
+                        ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {AtualizacaoParcial.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void atualizarUsuarioParcialmente(@PathVariable Long id, @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.atualizarParcialmente(id, patch, RespostaCondicional.versaoEsperada(ifMatch));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,69 @@
+package br.com.gameaccounts.credenciais;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Criptografia reversível (AES-GCM) das senhas das contas de jogo, que precisam ser
+ * entregues ao comprador e por isso não podem virar hash. O valor gravado é
+ * {@code v1:} seguido do IV e do texto cifrado em Base64; valores sem o prefixo são
+ * legados em texto puro e passam direto até a próxima gravação.
+ */
+@Component
+public class CifraSenhas {
+    private static final String PREFIXO = "v1:";
+    private static final String TRANSFORMACAO = "AES/GCM/NoPadding";
+    private static final int TAMANHO_IV = 12;
+    private static final int TAMANHO_TAG = 128;
+
+    private final SecretKeySpec chave;
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    public CifraSenhas(@Value("${marketplace.credenciais.chave-contas}") String chaveBase64) {
+        byte[] bytes = Base64.getDecoder().decode(chaveBase64);
+        if (bytes.length != 16 && bytes.length != 32) {
+            throw new IllegalArgumentException("marketplace.credenciais.chave-contas deve ter 128 ou 256 bits");
+        }
+        this.chave = new SecretKeySpec(bytes, "AES");
+    }
+
+    public String cifrar(String senha) {
+        if (senha == null) {
+            return null;
+        }
+        byte[] iv = new byte[TAMANHO_IV];
+        aleatorio.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMACAO);
+            cipher.init(Cipher.ENCRYPT_MODE, chave, new GCMParameterSpec(TAMANHO_TAG, iv));
+            byte[] cifrado = cipher.doFinal(senha.getBytes(StandardCharsets.UTF_8));
+            return PREFIXO + Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(iv.length + cifrado.length).put(iv).put(cifrado).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao cifrar senha da conta", e);
+        }
+    }
+
+    public String decifrar(String gravado) {
+        if (gravado == null || !gravado.startsWith(PREFIXO)) {
+            return gravado;
+        }
+        byte[] bytes = Base64.getDecoder().decode(gravado.substring(PREFIXO.length()));
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMACAO);
+            cipher.init(Cipher.DECRYPT_MODE, chave, new GCMParameterSpec(TAMANHO_TAG, bytes, 0, TAMANHO_IV));
+            return new String(cipher.doFinal(bytes, TAMANHO_IV, bytes.length - TAMANHO_IV), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao decifrar senha da conta", e);
+        }
+    }
+}
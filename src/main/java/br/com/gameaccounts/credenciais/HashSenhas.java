@@ -0,0 +1,149 @@
+package br.com.gameaccounts.credenciais;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hash adaptativo das senhas de usuário (BCrypt com prefixo {@code {bcrypt}}).
+ * <p>
+ * O trabalho roda em um pool próprio e limitado: {@code threads} workers e uma fila de
+ * {@code fila} pedidos. Com a fila cheia o pedido é recusado com 503 em vez de acumular, e
+ * as threads de requisição nunca executam o hash. O custo vem de {@code custo}; com
+ * {@code custo=0} ele é calibrado na subida para o maior valor cujo hash fica abaixo de
+ * {@code latencia-alvo} nesta máquina. Hashes com custo menor que o atual ou legados em
+ * texto puro (sem o prefixo) são aceitos e sinalizados para rehash.
+ */
+@Component
+public class HashSenhas {
+    private static final Logger log = LoggerFactory.getLogger(HashSenhas.class);
+
+    private static final String ALGORITMO = "bcrypt";
+    private static final int CUSTO_MINIMO = 4;
+    private static final int CUSTO_MAXIMO = 31;
+
+    private static final String PREFIXO = "{" + ALGORITMO + "}";
+
+    private final int custo;
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final String hashFicticio;
+
+    public HashSenhas(
+            @Value("${marketplace.credenciais.custo:10}") int custo,
+            @Value("${marketplace.credenciais.latencia-alvo:250ms}") Duration latenciaAlvo,
+            @Value("${marketplace.credenciais.threads:0}") int threads,
+            @Value("${marketplace.credenciais.fila:256}") int fila,
+            MeterRegistry registry
+    ) {
+        this.custo = custo > 0 ? custo : calibrar(latenciaAlvo);
+        this.encoder = new DelegatingPasswordEncoder(ALGORITMO, Map.of(ALGORITMO, new BCryptPasswordEncoder(this.custo)));
+
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(fila),
+                Thread.ofPlatform().daemon().name("hash-senha-", 1).factory(), new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(registry, pool, "hashSenhas");
+        this.hashFicticio = encoder.encode("senha-ficticia");
+        log.info("Hash de senhas: bcrypt custo {}, {} threads, fila {}", this.custo, workers, fila);
+    }
+
+    public int getCusto() {
+        return custo;
+    }
+
+    public CompletableFuture<String> gerarHash(String senha) {
+        return submeter(() -> encoder.encode(senha));
+    }
+
+    /**
+     * Confere a senha e, quando ela está certa mas o hash gravado é fraco ou legado, já
+     * devolve o novo hash calculado na mesma tarefa. Sem hash gravado (usuário inexistente)
+     * compara contra um hash fictício para o tempo de resposta não revelar a diferença.
+     */
+    public CompletableFuture<Verificacao> verificar(String senha, String hashGravado) {
+        return submeter(() -> {
+            if (hashGravado == null) {
+                encoder.matches(senha, hashFicticio);
+                return Verificacao.INVALIDA;
+            }
+            if (!hashGravado.startsWith(PREFIXO)) {
+                return confereTextoPuro(senha, hashGravado) ? new Verificacao(true, encoder.encode(senha)) : Verificacao.INVALIDA;
+            }
+            if (!encoder.matches(senha, hashGravado)) {
+                return Verificacao.INVALIDA;
+            }
+            return new Verificacao(true, encoder.upgradeEncoding(hashGravado) ? encoder.encode(senha) : null);
+        });
+    }
+
+    /** Para cargas de dados na subida, fora do caminho das requisições. */
+    public String gerarHashSincrono(String senha) {
+        return encoder.encode(senha);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submeter(Supplier<T> tarefa) {
+        try {
+            return CompletableFuture.supplyAsync(tarefa, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Serviço de credenciais sobrecarregado");
+        }
+    }
+
+    /** Senhas gravadas antes do hash: só a comparação, para permitir a migração no login. */
+    private static boolean confereTextoPuro(String senha, String gravada) {
+        return MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8), gravada.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Cada ponto de custo dobra o trabalho do BCrypt, então basta medir um custo base. */
+    static int calibrar(Duration latenciaAlvo) {
+        int base = 8;
+        BCryptPasswordEncoder medidor = new BCryptPasswordEncoder(base);
+        medidor.encode("aquecimento");
+        long inicio = System.nanoTime();
+        medidor.encode("calibracao");
+        long nanosBase = Math.max(1, System.nanoTime() - inicio);
+
+        int escolhido = CUSTO_MINIMO;
+        while (escolhido < CUSTO_MAXIMO && estimar(nanosBase, base, escolhido + 1) <= latenciaAlvo.toNanos()) {
+            escolhido++;
+        }
+        log.info("Custo do bcrypt calibrado em {} (custo {} levou {} ms, alvo {} ms)", escolhido, base,
+                TimeUnit.NANOSECONDS.toMillis(nanosBase), latenciaAlvo.toMillis());
+        return escolhido;
+    }
+
+    private static double estimar(long nanosBase, int base, int custo) {
+        return nanosBase * Math.pow(2, custo - base);
+    }
+
+    public record Verificacao(boolean valida, String novoHash) {
+        static final Verificacao INVALIDA = new Verificacao(false, null);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.gameaccounts.credenciais;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/** Aplica a {@link CifraSenhas} em {@code ContaJogo.senha}; instanciado pelo Spring via Hibernate. */
+@Converter
+public class SenhaContaConverter implements AttributeConverter<String, String> {
+    @Autowired
+    private CifraSenhas cifra;
+
+    @Override
+    public String convertToDatabaseColumn(String senha) {
+        return cifra.cifrar(senha);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String gravado) {
+        return cifra.decifrar(gravado);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.gameaccounts.dto;
+
+import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.Jogo;
+import br.com.gameaccounts.model.Usuario;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public record AnuncioResumo(Long id, String descricao, double preco, Referencia usuario, Referencia jogo,
+                            @JsonInclude(JsonInclude.Include.NON_NULL) Reputacao reputacaoVendedor) {
+
+    public AnuncioResumo(Long id, String descricao, double preco, Long usuarioId, String usuarioNome, Long jogoId, String jogoNome) {
+        this(id, descricao, preco, Referencia.de(usuarioId, usuarioNome), Referencia.de(jogoId, jogoNome), null);
+    }
+
+    /** Para as consultas que carregam a entidade com vendedor e jogo, como a paginação por cursor. */
+    public static AnuncioResumo de(Anuncio anuncio) {
+        Usuario usuario = anuncio.getUsuario();
+        Jogo jogo = anuncio.getJogo();
+        return new AnuncioResumo(anuncio.getId(), anuncio.getDescricao(), anuncio.getPreco(),
+                usuario == null ? null : usuario.getId(), usuario == null ? null : usuario.getNome(),
+                jogo == null ? null : jogo.getId(), jogo == null ? null : jogo.getNome());
+    }
+
+    public AnuncioResumo comReputacao(Reputacao reputacao) {
+        return new AnuncioResumo(id, descricao, preco, usuario, jogo, reputacao);
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.gameaccounts.dto;
+
+public record CredenciaisConta(Long id, String login, String senha) {
+}
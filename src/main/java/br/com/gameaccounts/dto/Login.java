@@ -0,0 +1,4 @@
+package br.com.gameaccounts.dto;
+
+public record Login(String email, String senha) {
+}
@@ -0,0 +1,13 @@
+package br.com.gameaccounts.dto;
+
+import br.com.gameaccounts.model.Mensagem;
+
+import java.time.LocalDateTime;
+
+public record MensagemResumo(Long id, String texto, Long remetenteId, Long destinatarioId, LocalDateTime enviadaEm) {
+
+    public static MensagemResumo de(Mensagem mensagem) {
+        return new MensagemResumo(mensagem.getId(), mensagem.getTexto(), mensagem.getRemetente().getId(),
+                mensagem.getDestinatario().getId(), mensagem.getEnviadaEm());
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.gameaccounts.dto;
+
+public record NovaMensagem(Long remetenteId, Long destinatarioId, String texto) {
+}
@@ -0,0 +1,11 @@
+package br.com.gameaccounts.dto;
+
+import java.time.LocalDateTime;
+
+/** Um ponto da série de vendas; {@code chave} é o jogo ou o vendedor agrupado, ou nulo no total. */
+public record PontoVenda(LocalDateTime inicio, Long chave, long quantidade, double receita) {
+
+    public PontoVenda(LocalDateTime inicio, long quantidade, double receita) {
+        this(inicio, null, quantidade, receita);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.gameaccounts.dto;
+
+public record Referencia(Long id, String nome) {
+
+    public static Referencia de(Long id, String nome) {
+        return id == null ? null : new Referencia(id, nome);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.gameaccounts.dto;
+
+import br.com.gameaccounts.model.ReputacaoVendedor;
+
+/** Reputação de um vendedor; {@code histograma[i]} é a quantidade de notas {@code i + 1}. */
+public record Reputacao(long quantidade, double media, long[] histograma) {
+    private static final Reputacao VAZIA = new Reputacao(0, 0, new long[5]);
+
+    public static Reputacao vazia() {
+        return VAZIA;
+    }
+
+    public static Reputacao de(ReputacaoVendedor reputacao) {
+        double media = Math.round(reputacao.getSoma() * 100.0 / reputacao.getQuantidade()) / 100.0;
+        return new Reputacao(reputacao.getQuantidade(), media, reputacao.getHistograma());
+    }
+}
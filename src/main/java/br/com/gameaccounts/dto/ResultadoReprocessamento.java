@@ -0,0 +1,6 @@
+package br.com.gameaccounts.dto;
+
+import java.time.LocalDate;
+
+public record ResultadoReprocessamento(LocalDate de, LocalDate ate, int dias, long transacoes, long baldes, long milissegundos) {
+}
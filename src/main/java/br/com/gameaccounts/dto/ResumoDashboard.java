@@ -0,0 +1,17 @@
+package br.com.gameaccounts.dto;
+
+import java.time.LocalDateTime;
+
+/** Totais do marketplace e vendas das últimas 24 horas; {@code reconciliadoEm} é a última conferência com o banco. */
+public record ResumoDashboard(
+        long usuarios,
+        long anuncios,
+        long jogos,
+        long contas,
+        long transacoes,
+        double volumeVendas,
+        long vendas24h,
+        double volume24h,
+        LocalDateTime reconciliadoEm
+) {
+}
@@ -0,0 +1,12 @@
+package br.com.gameaccounts.dto;
+
+import java.time.LocalDateTime;
+
+public record TransacaoResumo(Long id, LocalDateTime data, double valor, AnuncioResumo anuncio) {
+
+    public TransacaoResumo(Long id, LocalDateTime data, double valor, Long anuncioId, String descricao, Double preco,
+                           Long usuarioId, String usuarioNome, Long jogoId, String jogoNome) {
+        this(id, data, valor, anuncioId == null ? null
+                : new AnuncioResumo(anuncioId, descricao, preco, usuarioId, usuarioNome, jogoId, jogoNome));
+    }
+}
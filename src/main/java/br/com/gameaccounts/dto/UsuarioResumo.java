@@ -0,0 +1,4 @@
+package br.com.gameaccounts.dto;
+
+public record UsuarioResumo(Long id, String nome, String email) {
+}
@@ -0,0 +1,6 @@
+package br.com.gameaccounts.dto;
+
+import java.time.LocalDateTime;
+
+public record VendaBruta(LocalDateTime data, double valor, Long jogoId, Long vendedorId) {
+}
@@ -0,0 +1,29 @@
+package br.com.gameaccounts.dto;
+
+import br.com.gameaccounts.model.Jogo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Resumo das colunas de versão de uma tabela. Inserções mudam a quantidade e a última
+ * atualização, remoções a quantidade e edições a soma das versões, então qualquer
+ * alteração na listagem muda o {@link #token()}.
+ */
+public record VersaoColecao(long quantidade, long somaVersoes, LocalDateTime ultimaAtualizacao) {
+
+    public static VersaoColecao deJogos(Collection<Jogo> jogos) {
+        return new VersaoColecao(jogos.size(),
+                jogos.stream().mapToLong(Jogo::getVersao).sum(),
+                jogos.stream().map(Jogo::getAtualizadoEm).filter(Objects::nonNull)
+                        .max(LocalDateTime::compareTo).orElse(null));
+    }
+
+    public String token() {
+        long instante = ultimaAtualizacao == null ? 0
+                : ultimaAtualizacao.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return quantidade + "-" + somaVersoes + "-" + instante;
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.gameaccounts.dto;
+
+import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.ContaJogo;
+import br.com.gameaccounts.model.Jogo;
+import br.com.gameaccounts.model.Usuario;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * ETag forte e Last-Modified de uma representação, montados a partir das colunas
+ * {@code @Version} e {@code atualizadoEm} da entidade e das associações que vão no JSON.
+ * Os construtores com várias versões servem às consultas JPQL que leem só essas colunas.
+ */
+public record VersaoRecurso(String etag, LocalDateTime ultimaModificacao) {
+
+    public VersaoRecurso(long versao, LocalDateTime atualizadoEm) {
+        this(etag(versao), atualizadoEm);
+    }
+
+    public VersaoRecurso(Long versao, Long versaoJogo, LocalDateTime atualizadoEm, LocalDateTime jogoAtualizadoEm) {
+        this(etag(versao, versaoJogo), maisRecente(atualizadoEm, jogoAtualizadoEm));
+    }
+
+    public VersaoRecurso(Long versao, Long versaoUsuario, Long versaoJogo, LocalDateTime atualizadoEm,
+                         LocalDateTime usuarioAtualizadoEm, LocalDateTime jogoAtualizadoEm) {
+        this(etag(versao, versaoUsuario, versaoJogo), maisRecente(atualizadoEm, usuarioAtualizadoEm, jogoAtualizadoEm));
+    }
+
+    public static VersaoRecurso de(Jogo jogo) {
+        return new VersaoRecurso(jogo.getVersao(), jogo.getAtualizadoEm());
+    }
+
+    public static VersaoRecurso de(Usuario usuario) {
+        return new VersaoRecurso(usuario.getVersao(), usuario.getAtualizadoEm());
+    }
+
+    public static VersaoRecurso de(ContaJogo conta) {
+        Usuario usuario = conta.getUsuario();
+        Jogo jogo = conta.getJogo();
+        return new VersaoRecurso(conta.getVersao(),
+                usuario == null ? null : usuario.getVersao(), jogo == null ? null : jogo.getVersao(),
+                conta.getAtualizadoEm(),
+                usuario == null ? null : usuario.getAtualizadoEm(), jogo == null ? null : jogo.getAtualizadoEm());
+    }
+
+    public static VersaoRecurso de(Anuncio anuncio) {
+        Usuario usuario = anuncio.getUsuario();
+        Jogo jogo = anuncio.getJogo();
+        return new VersaoRecurso(anuncio.getVersao(),
+                usuario == null ? null : usuario.getVersao(), jogo == null ? null : jogo.getVersao(),
+                anuncio.getAtualizadoEm(),
+                usuario == null ? null : usuario.getAtualizadoEm(), jogo == null ? null : jogo.getAtualizadoEm());
+    }
+
+    /** Listagens só levam ETag: uma remoção não avança nenhuma data de atualização. */
+    public static VersaoRecurso colecao(VersaoColecao... partes) {
+        return new VersaoRecurso(Arrays.stream(partes).map(VersaoColecao::token)
+                .collect(Collectors.joining(".", "\"", "\"")), null);
+    }
+
+    public long ultimaModificacaoMillis() {
+        return ultimaModificacao == null ? -1
+                : ultimaModificacao.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String etag(Long... versoes) {
+        return Arrays.stream(versoes).map(v -> v == null ? "-" : v.toString())
+                .collect(Collectors.joining(".", "\"", "\""));
+    }
+
+    private static LocalDateTime maisRecente(LocalDateTime... instantes) {
+        return Arrays.stream(instantes).filter(Objects::nonNull).max(LocalDateTime::compareTo).orElse(null);
+    }
+}
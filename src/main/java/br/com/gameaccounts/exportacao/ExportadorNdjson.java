@@ -0,0 +1,50 @@
+package br.com.gameaccounts.exportacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Escreve um {@link Stream} de entidades como NDJSON (um objeto por linha) diretamente
+ * na saída, desanexando cada entidade do contexto de persistência após a escrita para
+ * que a memória fique limitada ao tamanho de um lote.
+ */
+@Component
+public class ExportadorNdjson {
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+    public static final int TAMANHO_LOTE = 500;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    public <T> long exportar(Stream<T> entidades, OutputStream saida) throws IOException {
+        long total = 0;
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.setRootValueSeparator(null);
+            Iterator<T> iterator = entidades.iterator();
+            while (iterator.hasNext()) {
+                T entidade = iterator.next();
+                gerador.writeObject(entidade);
+                gerador.writeRaw('\n');
+                entityManager.detach(entidade);
+                if (++total % TAMANHO_LOTE == 0) {
+                    // Associações carregadas junto com a entidade continuam gerenciadas
+                    entityManager.clear();
+                    gerador.flush();
+                }
+            }
+        }
+        return total;
+    }
+}
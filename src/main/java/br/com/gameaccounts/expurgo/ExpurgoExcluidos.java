@@ -0,0 +1,139 @@
+package br.com.gameaccounts.expurgo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remove de vez as linhas marcadas como excluídas (coluna
+ * {@code excluido}). Roda nos horários de {@code marketplace.expurgo.cron}, fora do pico,
+ * em lotes de até {@code lote} ids: cada lote é um SELECT pela chave e um DELETE desses
+ * ids em autocommit, então nenhum bloqueio dura mais que um lote, e entre eles há uma
+ * pausa para não disputar o banco com o tráfego. Cada execução remove no máximo
+ * {@code lotes-por-execucao} lotes por tabela; o restante fica para a próxima.
+ * <p>
+ * Linhas ainda referenciadas (anúncio de uma transação, usuário com mensagens ou
+ * feedbacks) continuam só marcadas. A condição vai também no DELETE, para que uma
+ * referência criada entre a seleção e a remoção não derrube o lote por violação de FK.
+ * <p>
+ * O agendador só dispara a execução numa thread própria: com as pausas entre lotes ela
+ * pode levar minutos, e na thread do agendador atrasaria as demais tarefas agendadas.
+ * Um disparo que encontra a execução anterior ainda em andamento é descartado.
+ */
+@Component
+public class ExpurgoExcluidos {
+    private static final Logger log = LoggerFactory.getLogger(ExpurgoExcluidos.class);
+
+    // Filhas antes das mães, para que o expurgo de uma libere o da seguinte na mesma execução
+    private static final List<Tabela> TABELAS = List.of(
+            new Tabela("conta_jogo", null),
+            new Tabela("anuncio", "not exists (select 1 from transacao t where t.anuncio_id = anuncio.id)"),
+            new Tabela("jogo", "not exists (select 1 from anuncio a where a.jogo_id = jogo.id) "
+                    + "and not exists (select 1 from conta_jogo c where c.jogo_id = jogo.id)"),
+            new Tabela("usuario", "not exists (select 1 from anuncio a where a.usuario_id = usuario.id) "
+                    + "and not exists (select 1 from conta_jogo c where c.usuario_id = usuario.id) "
+                    + "and not exists (select 1 from feedback f where f.usuario_id = usuario.id) "
+                    + "and not exists (select 1 from mensagem m where m.remetente_id = usuario.id or m.destinatario_id = usuario.id)"));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final MeterRegistry registry;
+    private final int lote;
+    private final int lotesPorExecucao;
+    private final long pausaMillis;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), Thread.ofPlatform().daemon().name("expurgo").factory(),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public ExpurgoExcluidos(
+            NamedParameterJdbcTemplate jdbc,
+            MeterRegistry registry,
+            @Value("${marketplace.expurgo.lote:1000}") int lote,
+            @Value("${marketplace.expurgo.lotes-por-execucao:100}") int lotesPorExecucao,
+            @Value("${marketplace.expurgo.pausa:50ms}") Duration pausa
+    ) {
+        this.jdbc = jdbc;
+        this.registry = registry;
+        this.lote = lote;
+        this.lotesPorExecucao = lotesPorExecucao;
+        this.pausaMillis = pausa.toMillis();
+    }
+
+    @Scheduled(cron = "${marketplace.expurgo.cron:0 */10 2-5 * * *}")
+    void agendar() {
+        executor.execute(() -> {
+            try {
+                expurgar();
+            } catch (RuntimeException e) {
+                log.error("Expurgo interrompido; o restante fica para o próximo disparo", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /** Executa na thread de quem chama e devolve o total de linhas removidas em todas as tabelas. */
+    public long expurgar() {
+        long total = 0;
+        for (Tabela tabela : TABELAS) {
+            long removidas = expurgar(tabela);
+            if (removidas > 0) {
+                log.info("Expurgo removeu {} linhas excluídas de {}", removidas, tabela.nome());
+            }
+            total += removidas;
+        }
+        return total;
+    }
+
+    private long expurgar(Tabela tabela) {
+        long removidas = 0;
+        for (int i = 0; i < lotesPorExecucao; i++) {
+            List<Long> ids = jdbc.queryForList(tabela.selecao(), Map.of("lote", lote), Long.class);
+            if (ids.isEmpty()) {
+                break;
+            }
+            int n = jdbc.update(tabela.remocao(), Map.of("ids", ids));
+            removidas += n;
+            registry.counter("marketplace.expurgo.removidas", "tabela", tabela.nome()).increment(n);
+            if (ids.size() < lote || !pausar()) {
+                break;
+            }
+        }
+        return removidas;
+    }
+
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausaMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Tabela(String nome, String condicao) {
+        String selecao() {
+            return "select id from " + nome + " where excluido = true" + (condicao == null ? "" : " and " + condicao)
+                    + " order by id limit :lote";
+        }
+
+        String remocao() {
+            return "delete from " + nome + " where id in (:ids)" + (condicao == null ? "" : " and " + condicao);
+        }
+    }
+}
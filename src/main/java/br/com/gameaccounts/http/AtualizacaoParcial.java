@@ -0,0 +1,147 @@
+package br.com.gameaccounts.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Aplica um JSON merge patch (RFC 7396) como um único {@code UPDATE} com só os campos
+ * presentes no corpo, sem carregar a entidade. O {@code UPDATE} incrementa a versão e,
+ * quando o cliente informa a versão esperada ({@code If-Match} ou {@code versao} no corpo),
+ * só altera a linha se ela ainda estiver nessa versão; caso contrário responde 409. A
+ * consulta extra para separar 404 de 409 só acontece quando nenhuma linha foi alterada.
+ * <p>
+ * Associações vão como {@code {"id": n}} ou só o id, e {@code null} remove o valor.
+ * Campos fora da lista de cada entidade (id, versão, senhas com hash) são recusados. Um
+ * {@link Bloqueio} entra no mesmo {@code UPDATE}: com o campo booleano verdadeiro (anúncio
+ * vendido) a linha não muda e a resposta é 409.
+ */
+@Component
+public class AtualizacaoParcial {
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public record Bloqueio(String campo, String mensagem) {
+    }
+
+    @Transactional
+    public <T> Map<String, Object> aplicar(Class<T> entidade, Long id, Long versaoEsperada, JsonNode patch,
+                                           Map<String, Class<?>> campos) {
+        return aplicar(entidade, id, versaoEsperada, patch, campos, null);
+    }
+
+    /** Devolve os valores aplicados, já convertidos, para o serviço atualizar índices e caches. */
+    @Transactional
+    public <T> Map<String, Object> aplicar(Class<T> entidade, Long id, Long versaoEsperada, JsonNode patch,
+                                           Map<String, Class<?>> campos, Bloqueio bloqueio) {
+        if (patch == null || !patch.isObject()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O corpo deve ser um objeto JSON (merge patch)");
+        }
+        Long versao = versaoEsperada;
+        Map<String, Object> valores = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> campo = it.next();
+            if (campo.getKey().equals("versao")) {
+                if (versao == null && campo.getValue().canConvertToLong()) {
+                    versao = campo.getValue().asLong();
+                }
+                continue;
+            }
+            Class<?> tipo = campos.get(campo.getKey());
+            if (tipo == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo não pode ser alterado: " + campo.getKey());
+            }
+            valores.put(campo.getKey(), converter(campo.getKey(), campo.getValue(), tipo));
+        }
+        if (valores.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nenhum campo para alterar");
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(entidade);
+        Root<T> raiz = update.from(entidade);
+        valores.forEach((nome, valor) -> {
+            Path<Object> caminho = raiz.get(nome);
+            update.set(caminho, valor);
+        });
+        Path<Long> colunaVersao = raiz.get("versao");
+        update.set(colunaVersao, cb.sum(colunaVersao, 1L));
+        update.set(raiz.<LocalDateTime>get("atualizadoEm"), LocalDateTime.now());
+        Predicate filtro = cb.equal(raiz.get("id"), id);
+        if (versao != null) {
+            filtro = cb.and(filtro, cb.equal(colunaVersao, versao));
+        }
+        if (bloqueio != null) {
+            filtro = cb.and(filtro, cb.isFalse(raiz.get(bloqueio.campo())));
+        }
+        update.where(filtro);
+
+        int alteradas;
+        try {
+            alteradas = entityManager.createQuery(update).executeUpdate();
+        } catch (PersistenceException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Alteração viola uma restrição do banco", e);
+        }
+        if (alteradas == 0) {
+            if (!existe(entidade, id, null)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            }
+            if (bloqueio != null && existe(entidade, id, bloqueio.campo())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, bloqueio.mensagem());
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Registro alterado por outra requisição; recarregue e tente de novo");
+        }
+        return valores;
+    }
+
+    private boolean existe(Class<?> entidade, Long id, String campoVerdadeiro) {
+        String jpql = "select count(e) from " + entidade.getSimpleName() + " e where e.id = :id"
+                + (campoVerdadeiro == null ? "" : " and e." + campoVerdadeiro + " = true");
+        return entityManager.createQuery(jpql, Long.class).setParameter("id", id).getSingleResult() > 0;
+    }
+
+    private Object converter(String nome, JsonNode valor, Class<?> tipo) {
+        if (valor.isNull()) {
+            if (tipo.isPrimitive()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo não aceita nulo: " + nome);
+            }
+            return null;
+        }
+        if (tipo.isAnnotationPresent(Entity.class)) {
+            JsonNode id = valor.isObject() ? valor.get("id") : valor;
+            if (id == null || !id.canConvertToLong()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe o id em " + nome);
+            }
+            return entityManager.getReference(tipo, id.asLong());
+        }
+        try {
+            return objectMapper.treeToValue(valor, tipo);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valor inválido para " + nome);
+        }
+    }
+}
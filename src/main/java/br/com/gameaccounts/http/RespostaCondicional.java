@@ -0,0 +1,117 @@
+package br.com.gameaccounts.http;
+
+import br.com.gameaccounts.config.SerializacaoConfig;
+import br.com.gameaccounts.dto.VersaoRecurso;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET condicional a partir de uma {@link VersaoRecurso}. O controller consulta só as
+ * colunas de versão, responde 304 se o cliente já tem essa versão e só então carrega a
+ * entidade; no 200 os cabeçalhos saem da entidade carregada, e não da consulta de versão.
+ * <p>
+ * JSON, CBOR, Smile e {@value SerializacaoConfig#REFERENCIAS_JSON} são bytes diferentes
+ * do mesmo recurso, então o ETag leva um sufixo por formato (o JSON fica sem) e as
+ * respostas saem com {@code Vary: Accept}. O formato é deduzido do {@code Accept} na
+ * mesma ordem em que o Spring escolhe o conversor.
+ */
+public final class RespostaCondicional {
+    // Em ordem de preferência: um curinga no Accept fica com o JSON, como nos conversores
+    private static final Map<MediaType, String> SUFIXOS = Map.of(
+            MediaType.APPLICATION_CBOR, ".cbor",
+            MediaType.parseMediaType("application/x-jackson-smile"), ".smile",
+            MediaType.parseMediaType(SerializacaoConfig.REFERENCIAS_JSON), ".referencias");
+
+    private RespostaCondicional() {}
+
+    /** Avalia If-None-Match e If-Modified-Since sem escrever nada na resposta. */
+    public static boolean naoModificado(HttpServletRequest request, VersaoRecurso versao) {
+        return new ServletWebRequest(request).checkNotModified(etag(versao, request), versao.ultimaModificacaoMillis());
+    }
+
+    public static <T> ResponseEntity<T> naoModificada(VersaoRecurso versao) {
+        return cabecalhos(ResponseEntity.status(HttpStatus.NOT_MODIFIED), versao).build();
+    }
+
+    /** Se o cliente já tiver esta versão o Spring ainda troca o 200 por 304 ao escrever. */
+    public static <T> ResponseEntity<T> ok(T corpo, VersaoRecurso versao) {
+        return cabecalhos(ResponseEntity.ok(), versao).body(corpo);
+    }
+
+    /**
+     * Versão da própria entidade num {@code If-Match}: o primeiro número do ETag, já que
+     * os seguintes são das associações. Sem cabeçalho ou com {@code *} não há condição.
+     */
+    public static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        etag = etag.replace("\"", "");
+        int fim = etag.indexOf('.');
+        try {
+            return Long.parseLong(fim < 0 ? etag : etag.substring(0, fim));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match inválido: " + ifMatch);
+        }
+    }
+
+    /** Para as escritas que carregam a entidade: 409 se o cliente editou uma versão antiga. */
+    public static void conferirVersao(Long versaoEsperada, long versaoAtual) {
+        if (versaoEsperada != null && versaoEsperada != versaoAtual) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Registro alterado por outra requisição; recarregue e tente de novo");
+        }
+    }
+
+    private static ResponseEntity.BodyBuilder cabecalhos(ResponseEntity.BodyBuilder resposta, VersaoRecurso versao) {
+        resposta.eTag(etag(versao, ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest()));
+        resposta.varyBy(HttpHeaders.ACCEPT);
+        if (versao.ultimaModificacao() != null) {
+            resposta.lastModified(versao.ultimaModificacaoMillis());
+        }
+        return resposta;
+    }
+
+    /** O número da versão continua na frente, então {@link #versaoEsperada} lê qualquer formato. */
+    private static String etag(VersaoRecurso versao, HttpServletRequest request) {
+        String sufixo = sufixo(request.getHeader(HttpHeaders.ACCEPT));
+        String etag = versao.etag();
+        return sufixo.isEmpty() ? etag : etag.substring(0, etag.length() - 1) + sufixo + "\"";
+    }
+
+    private static String sufixo(String accept) {
+        List<MediaType> aceitos;
+        try {
+            aceitos = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(aceitos);
+        for (MediaType aceito : aceitos) {
+            if (aceito.includes(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            for (Map.Entry<MediaType, String> formato : SUFIXOS.entrySet()) {
+                if (aceito.includes(formato.getKey())) {
+                    return formato.getValue();
+                }
+            }
+        }
+        return "";
+    }
+}
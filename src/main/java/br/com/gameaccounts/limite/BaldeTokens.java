@@ -0,0 +1,36 @@
+package br.com.gameaccounts.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem trava: em vez de guardar tokens e instante de recarga, guarda um
+ * único {@code long} com o instante teórico em que o balde estará cheio de novo (GCRA).
+ * Cada requisição empurra esse instante em um intervalo de emissão; ela é recusada se o
+ * empurrão passar da rajada permitida. Consumir é um compare-and-set, sem relógio por token.
+ */
+final class BaldeTokens {
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong cheioEm;
+
+    BaldeTokens(double taxaPorSegundo, int rajada, long agora) {
+        this.intervaloNanos = (long) (1_000_000_000L / taxaPorSegundo);
+        this.toleranciaNanos = intervaloNanos * (rajada - 1);
+        this.cheioEm = new AtomicLong(agora);
+    }
+
+    /** Devolve 0 se consumiu um token ou, se o balde está vazio, quanto falta para o próximo. */
+    long consumir(long agora) {
+        while (true) {
+            long atual = cheioEm.get();
+            long base = Math.max(atual, agora);
+            long espera = base - agora - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (cheioEm.compareAndSet(atual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+}
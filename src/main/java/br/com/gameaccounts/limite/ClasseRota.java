@@ -0,0 +1,14 @@
+package br.com.gameaccounts.limite;
+
+/**
+ * Rotas de busca e exportação varrem tabelas inteiras e têm limite próprio, bem mais
+ * baixo que o das rotas de CRUD.
+ */
+public enum ClasseRota {
+    BUSCA,
+    CRUD;
+
+    static ClasseRota de(String padrao) {
+        return padrao.contains("/busca") || padrao.endsWith("/export") ? BUSCA : CRUD;
+    }
+}
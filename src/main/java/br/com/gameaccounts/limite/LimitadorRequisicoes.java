@@ -0,0 +1,57 @@
+package br.com.gameaccounts.limite;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Um {@link BaldeTokens} por cliente e endpoint. Os baldes ficam num mapa concorrente
+ * limitado: um scraper trocando de IP não faz o mapa crescer sem fim, e um balde parado
+ * por mais tempo do que leva para encher de novo é descartado, já que um balde novo
+ * seria idêntico.
+ */
+public class LimitadorRequisicoes {
+    private final Map<ClasseRota, Limite> limites = new EnumMap<>(ClasseRota.class);
+    private final Cache<String, BaldeTokens> baldes;
+
+    public LimitadorRequisicoes(Limite busca, Limite crud, long maximoBaldes) {
+        limites.put(ClasseRota.BUSCA, busca);
+        limites.put(ClasseRota.CRUD, crud);
+        Duration ociosidade = busca.tempoParaEncher().compareTo(crud.tempoParaEncher()) > 0
+                ? busca.tempoParaEncher() : crud.tempoParaEncher();
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maximoBaldes)
+                .expireAfterAccess(ociosidade)
+                .build();
+    }
+
+    /** Devolve 0 se a requisição pode seguir ou quantos nanos o cliente deve esperar. */
+    public long consumir(String cliente, String metodo, String rota, ClasseRota classe) {
+        long agora = System.nanoTime();
+        Limite limite = limites.get(classe);
+        return baldes.get(cliente + ' ' + metodo + ' ' + rota, chave -> limite.criar(agora)).consumir(agora);
+    }
+
+    public long getBaldes() {
+        return baldes.estimatedSize();
+    }
+
+    public record Limite(double taxaPorSegundo, int rajada) {
+        public Limite {
+            if (taxaPorSegundo <= 0 || rajada < 1) {
+                throw new IllegalArgumentException("Limite de requisições exige taxa > 0 e rajada >= 1");
+            }
+        }
+
+        Duration tempoParaEncher() {
+            return Duration.ofNanos((long) (rajada * 1_000_000_000L / taxaPorSegundo));
+        }
+
+        BaldeTokens criar(long agora) {
+            return new BaldeTokens(taxaPorSegundo, rajada, agora);
+        }
+    }
+}
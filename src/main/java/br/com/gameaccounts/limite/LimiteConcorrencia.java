@@ -0,0 +1,102 @@
+package br.com.gameaccounts.limite;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite adaptativo de requisições simultâneas (AIMD). A cada amostra compara a espera
+ * média por conexão do Hikari ({@code hikaricp.connections.acquire}) com o alvo: acima
+ * dele o limite cai 20%, abaixo sobe uma unidade. Assim a aplicação recusa com 503 o
+ * excedente assim que o pool começa a enfileirar, em vez de deixar cada requisição
+ * esperar até o timeout da conexão. Buscas só ocupam metade do limite, para que o CRUD
+ * continue sendo atendido enquanto elas são descartadas.
+ */
+public class LimiteConcorrencia {
+    private static final Logger log = LoggerFactory.getLogger(LimiteConcorrencia.class);
+    private static final double REDUCAO = 0.8;
+
+    private final MeterRegistry registry;
+    private final int minimo;
+    private final int maximo;
+    private final long alvoNanos;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private volatile int limite;
+
+    private long ultimaContagem;
+    private double ultimoTotalNanos;
+
+    public LimiteConcorrencia(int minimo, int maximo, Duration esperaAlvo, MeterRegistry registry) {
+        if (minimo < 2 || maximo < minimo) {
+            throw new IllegalArgumentException("Limite de concorrência exige 2 <= minimo <= maximo");
+        }
+        this.registry = registry;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.alvoNanos = esperaAlvo.toNanos();
+        this.limite = maximo;
+        registry.gauge("marketplace.limite.concorrencia", this, LimiteConcorrencia::getLimite);
+        registry.gauge("marketplace.limite.em.andamento", emAndamento);
+    }
+
+    public boolean entrar(ClasseRota classe) {
+        int teto = classe == ClasseRota.BUSCA ? Math.max(1, limite / 2) : limite;
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= teto) {
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void sair() {
+        emAndamento.decrementAndGet();
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    @Scheduled(fixedDelayString = "${marketplace.limite.concorrencia.intervalo:500ms}")
+    public void amostrar() {
+        // Soma os pools (primário e réplica, quando houver): espera em qualquer um deles conta
+        Collection<Timer> aquisicoes = registry.find("hikaricp.connections.acquire").timers();
+        if (aquisicoes.isEmpty()) {
+            return;
+        }
+        long contagem = 0;
+        double totalNanos = 0;
+        for (Timer aquisicao : aquisicoes) {
+            contagem += aquisicao.count();
+            totalNanos += aquisicao.totalTime(TimeUnit.NANOSECONDS);
+        }
+        long novas = contagem - ultimaContagem;
+        double esperaMedia = novas > 0 ? (totalNanos - ultimoTotalNanos) / novas : 0;
+        ultimaContagem = contagem;
+        ultimoTotalNanos = totalNanos;
+        ajustar(esperaMedia);
+    }
+
+    void ajustar(double esperaMediaNanos) {
+        int anterior = limite;
+        if (esperaMediaNanos > alvoNanos) {
+            limite = Math.max(minimo, (int) (anterior * REDUCAO));
+            if (limite != anterior) {
+                log.warn("Espera média por conexão de {} ms; limite de concorrência reduzido de {} para {}",
+                        String.format("%.1f", esperaMediaNanos / 1_000_000), anterior, limite);
+            }
+        } else if (anterior < maximo) {
+            limite = anterior + 1;
+        }
+    }
+}
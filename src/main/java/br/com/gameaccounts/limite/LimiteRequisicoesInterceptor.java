@@ -0,0 +1,83 @@
+package br.com.gameaccounts.limite;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Aplica o {@link LimitadorRequisicoes} e o {@link LimiteConcorrencia} antes do handler.
+ * Roda depois do mapeamento, então o endpoint é o padrão da rota ({@code /anuncios/{id}})
+ * e não a URI, que multiplicaria os baldes por id. O cliente é o endereço remoto; atrás de
+ * proxy ele vem do {@code X-Forwarded-For} via {@code server.forward-headers-strategy}.
+ * <p>
+ * Requisições assíncronas (SSE, exportações NDJSON) devolvem a vaga de concorrência quando
+ * a thread da requisição é liberada, e o redespacho assíncrono não é contado de novo.
+ */
+public class LimiteRequisicoesInterceptor implements AsyncHandlerInterceptor {
+    private static final String VAGA = LimiteRequisicoesInterceptor.class.getName() + ".VAGA";
+
+    private final LimitadorRequisicoes limitador;
+    private final LimiteConcorrencia concorrencia;
+    private final MeterRegistry registry;
+
+    public LimiteRequisicoesInterceptor(LimitadorRequisicoes limitador, LimiteConcorrencia concorrencia,
+                                        MeterRegistry registry) {
+        this.limitador = limitador;
+        this.concorrencia = concorrencia;
+        this.registry = registry;
+        registry.gauge("marketplace.limite.baldes", limitador, LimitadorRequisicoes::getBaldes);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String rota = padrao != null ? padrao.toString() : request.getRequestURI();
+        ClasseRota classe = ClasseRota.de(rota);
+
+        long espera = limitador.consumir(request.getRemoteAddr(), request.getMethod(), rota, classe);
+        if (espera > 0) {
+            recusada("taxa", classe);
+            throw new RequisicaoRecusadaException(HttpStatus.TOO_MANY_REQUESTS, "Limite de requisições excedido", espera);
+        }
+        if (!concorrencia.entrar(classe)) {
+            recusada("concorrencia", classe);
+            throw new RequisicaoRecusadaException(HttpStatus.SERVICE_UNAVAILABLE, "Servidor sobrecarregado", 0);
+        }
+        request.setAttribute(VAGA, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        liberar(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        liberar(request);
+    }
+
+    private void liberar(HttpServletRequest request) {
+        if (request.getAttribute(VAGA) != null) {
+            request.removeAttribute(VAGA);
+            concorrencia.sair();
+        }
+    }
+
+    private void recusada(String motivo, ClasseRota classe) {
+        Counter.builder("marketplace.limite.recusadas")
+                .description("Requisições recusadas pelo limite de taxa ou de concorrência")
+                .tags("motivo", motivo, "classe", classe.name().toLowerCase())
+                .register(registry)
+                .increment();
+    }
+}
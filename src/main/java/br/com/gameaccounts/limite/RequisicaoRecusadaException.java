@@ -0,0 +1,24 @@
+package br.com.gameaccounts.limite;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+
+/** 429 ou 503 com {@code Retry-After} em segundos, arredondado para cima. */
+public class RequisicaoRecusadaException extends ResponseStatusException {
+    private final long tentarEmSegundos;
+
+    public RequisicaoRecusadaException(HttpStatus status, String motivo, long esperaNanos) {
+        super(status, motivo);
+        this.tentarEmSegundos = Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders cabecalhos = new HttpHeaders();
+        cabecalhos.set(HttpHeaders.RETRY_AFTER, String.valueOf(tentarEmSegundos));
+        return cabecalhos;
+    }
+}
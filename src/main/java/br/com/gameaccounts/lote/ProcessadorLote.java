@@ -0,0 +1,87 @@
+package br.com.gameaccounts.lote;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Persiste itens em blocos, cada bloco na sua própria transação. Dentro do bloco os
+ * inserts são agrupados pelo Hibernate em lotes JDBC ({@code hibernate.jdbc.batch_size});
+ * ao final o contexto de persistência é limpo para que a memória não cresça com o total
+ * de itens. Itens inválidos são reportados sem interromper o restante, e uma falha no
+ * banco invalida apenas o bloco em que ocorreu.
+ * <p>
+ * O lote só cria registros: um item com {@code id} é recusado, já que o {@code saveAll}
+ * faria merge sobre a linha existente com esse id.
+ */
+@Component
+public class ProcessadorLote {
+    public static final int TAMANHO_BLOCO = 500;
+    private static final String ID_INFORMADO = "O id é gerado pelo servidor; use PUT para alterar um registro";
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public <T> List<ResultadoLote> processar(Iterator<T> itens, Function<T, String> validador,
+                                             JpaRepository<T, Long> repository, Function<T, Long> id,
+                                             Consumer<T> aposSalvar) {
+        List<ResultadoLote> resultados = new ArrayList<>();
+        List<T> bloco = new ArrayList<>(TAMANHO_BLOCO);
+        List<Integer> indices = new ArrayList<>(TAMANHO_BLOCO);
+        int indice = 0;
+        while (itens.hasNext()) {
+            T item = itens.next();
+            String erro = id.apply(item) != null ? ID_INFORMADO : validador.apply(item);
+            if (erro != null) {
+                resultados.add(ResultadoLote.falha(indice++, erro));
+                continue;
+            }
+            bloco.add(item);
+            indices.add(indice++);
+            if (bloco.size() == TAMANHO_BLOCO) {
+                salvarBloco(bloco, indices, repository, id, aposSalvar, resultados);
+            }
+        }
+        if (!bloco.isEmpty()) {
+            salvarBloco(bloco, indices, repository, id, aposSalvar, resultados);
+        }
+        resultados.sort((a, b) -> Integer.compare(a.indice(), b.indice()));
+        return resultados;
+    }
+
+    private <T> void salvarBloco(List<T> bloco, List<Integer> indices, JpaRepository<T, Long> repository,
+                                 Function<T, Long> id, Consumer<T> aposSalvar, List<ResultadoLote> resultados) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.saveAll(bloco);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (int i = 0; i < bloco.size(); i++) {
+                aposSalvar.accept(bloco.get(i));
+                resultados.add(ResultadoLote.sucesso(indices.get(i), id.apply(bloco.get(i))));
+            }
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            String erro = "Falha ao gravar o bloco: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Integer i : indices) {
+                resultados.add(ResultadoLote.falha(i, erro));
+            }
+        }
+        bloco.clear();
+        indices.clear();
+    }
+}
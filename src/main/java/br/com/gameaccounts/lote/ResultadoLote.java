@@ -0,0 +1,16 @@
+package br.com.gameaccounts.lote;
+
+public record ResultadoLote(int indice, Long id, String erro) {
+
+    public static ResultadoLote sucesso(int indice, Long id) {
+        return new ResultadoLote(indice, id, null);
+    }
+
+    public static ResultadoLote falha(int indice, String erro) {
+        return new ResultadoLote(indice, null, erro);
+    }
+
+    public boolean isSucesso() {
+        return erro == null;
+    }
+}
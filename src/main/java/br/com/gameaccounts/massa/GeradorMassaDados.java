@@ -0,0 +1,219 @@
+package br.com.gameaccounts.massa;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Gera uma massa de dados sintética e determinística direto via JDBC.
+ * <p>
+ * Cada tabela é dividida em blocos de {@code lote} linhas inseridos em paralelo com
+ * {@code batchUpdate}. O gerador aleatório de cada bloco é derivado da semente, da tabela
+ * e do número do bloco, então o resultado não depende da quantidade de threads. A
+ * distribuição imita produção: poucos vendedores concentram a maior parte dos anúncios,
+ * alguns jogos concentram a maior parte das contas e os preços seguem uma log-normal.
+ * <p>
+ * Todos os usuários recebem o mesmo hash de senha ({@code hashSenha}), já que calcular um
+ * bcrypt por linha custaria horas; as senhas das contas passam por {@code cifrarSenhaConta}.
+ */
+public class GeradorMassaDados {
+    private static final Logger log = LoggerFactory.getLogger(GeradorMassaDados.class);
+
+    private static final String[] ITENS = {"skins raras", "facas", "todas as skins", "passe de batalha",
+            "personagens lendários", "ranque diamante", "conta verificada", "itens exclusivos"};
+    private static final String[] PLATAFORMAS = {"PC", "Multiplataforma", "PlayStation", "Xbox", "Mobile"};
+    private static final String[] METODOS = {"CARTAO", "PIX", "BOLETO"};
+
+    private static final int ALOCACAO_SEQUENCIA = 50;
+
+    private final JdbcTemplate jdbc;
+    private final MassaDadosProperties config;
+    private final String hashSenha;
+    private final UnaryOperator<String> cifrarSenhaConta;
+    private final LocalDateTime referencia = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private final Timestamp atualizacao = Timestamp.valueOf(referencia);
+    private final long passoAnuncios;
+    private final long inversoPassoAnuncios;
+
+    public GeradorMassaDados(JdbcTemplate jdbc, MassaDadosProperties config, String hashSenha,
+                             UnaryOperator<String> cifrarSenhaConta) {
+        this.jdbc = jdbc;
+        this.config = config;
+        this.hashSenha = hashSenha;
+        this.cifrarSenhaConta = cifrarSenhaConta;
+        long n = Math.max(1, config.anuncios());
+        long passo = 7_919;
+        while (mdc(passo, n) != 1) {
+            passo++;
+        }
+        this.passoAnuncios = passo % n;
+        this.inversoPassoAnuncios = n == 1 ? 0 : BigInteger.valueOf(passo).modInverse(BigInteger.valueOf(n)).longValue();
+    }
+
+    public void gerar() {
+        long inicio = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(config.threads());
+        try {
+            inserir(executor, "usuario", "insert into usuario (id, nome, email, senha, versao, atualizado_em, excluido) values (?, ?, ?, ?, 0, ?, false)",
+                    config.usuarios(), (i, r) -> new Object[]{
+                            id(i), "Usuário " + i, "usuario" + i + "@email.com", hashSenha, atualizacao});
+            inserir(executor, "jogo", "insert into jogo (id, nome, plataforma, versao, atualizado_em, excluido) values (?, ?, ?, 0, ?, false)",
+                    config.jogos(), (i, r) -> new Object[]{
+                            id(i), "Jogo " + i, PLATAFORMAS[r.nextInt(PLATAFORMAS.length)], atualizacao});
+            inserir(executor, "conta_jogo", "insert into conta_jogo (id, login, senha, usuario_id, jogo_id, versao, atualizado_em, excluido) values (?, ?, ?, ?, ?, 0, ?, false)",
+                    config.contas(), (i, r) -> new Object[]{
+                            id(i), "jogador" + i, cifrarSenhaConta.apply("senha" + r.nextInt(1_000_000)),
+                            id(enviesado(r, config.usuarios(), 3.0)), id(enviesado(r, config.jogos(), 2.0)), atualizacao});
+            inserir(executor, "anuncio", "insert into anuncio (id, descricao, preco, usuario_id, jogo_id, vendido, versao, atualizado_em, excluido) values (?, ?, ?, ?, ?, ?, 0, ?, false)",
+                    config.anuncios(), (i, r) -> {
+                        int jogo = enviesado(r, config.jogos(), 2.0);
+                        return new Object[]{id(i),
+                                "Conta Jogo " + jogo + " nível " + r.nextInt(500) + " com " + ITENS[r.nextInt(ITENS.length)],
+                                preco(r), id(enviesado(r, config.usuarios(), 3.0)), id(jogo), vendido(i), atualizacao};
+                    });
+            inserir(executor, "pagamento", "insert into pagamento (id, valor, metodo) values (?, ?, ?)",
+                    config.transacoes(), (i, r) -> new Object[]{id(i), preco(r), METODOS[r.nextInt(METODOS.length)]});
+            inserir(executor, "transacao", "insert into transacao (id, data, valor, anuncio_id, pagamento_id) values (?, ?, ?, ?, ?)",
+                    config.transacoes(), (i, r) -> new Object[]{id(i),
+                            Timestamp.valueOf(referencia.minusMinutes(r.nextInt(525_600))), preco(r),
+                            id(anuncioDistinto(i)), id(i)});
+            inserir(executor, "feedback", "insert into feedback (id, comentario, nota, usuario_id) values (?, ?, ?, ?)",
+                    config.feedbacks(), (i, r) -> new Object[]{id(i), "Comentário " + i,
+                            Math.max(1, 5 - (int) Math.floor(Math.abs(r.nextGaussian()) * 1.5)),
+                            id(enviesado(r, config.usuarios(), 3.0))});
+            inserir(executor, "mensagem", "insert into mensagem (id, texto, remetente_id, destinatario_id, enviada_em) values (?, ?, ?, ?, ?)",
+                    config.mensagens(), (i, r) -> new Object[]{id(i), "Mensagem " + i,
+                            id(r.nextInt(config.usuarios())), id(enviesado(r, config.usuarios(), 3.0)),
+                            Timestamp.valueOf(referencia.minusSeconds(r.nextInt(31_536_000)))});
+        } finally {
+            executor.shutdownNow();
+        }
+        consolidarReputacoes();
+        ajustarGeradoresDeId();
+        long total = (long) config.usuarios() + config.jogos() + config.contas() + config.anuncios()
+                + 2L * config.transacoes() + config.feedbacks() + config.mensagens();
+        log.info("Massa de dados gerada: {} linhas em {} s", total, (System.nanoTime() - inicio) / 1_000_000_000);
+    }
+
+    private void inserir(ExecutorService executor, String tabela, String sql, int total, Linha linha) {
+        if (total <= 0) {
+            return;
+        }
+        AtomicLong inseridas = new AtomicLong();
+        long inicio = System.nanoTime();
+        int blocos = (total + config.lote() - 1) / config.lote();
+        long passoProgresso = Math.max(1, blocos / 10);
+        List<Future<?>> tarefas = new ArrayList<>(blocos);
+        for (int b = 0; b < blocos; b++) {
+            int bloco = b;
+            tarefas.add(executor.submit(() -> {
+                Random random = new Random(config.semente() * 31 + tabela.hashCode() * 17L + bloco);
+                int de = bloco * config.lote();
+                int ate = Math.min(total, de + config.lote());
+                List<Object[]> linhas = new ArrayList<>(ate - de);
+                for (int i = de; i < ate; i++) {
+                    linhas.add(linha.valores(i, random));
+                }
+                jdbc.batchUpdate(sql, linhas);
+                long feitas = inseridas.addAndGet(linhas.size());
+                if ((bloco + 1) % passoProgresso == 0) {
+                    log.info("{}: {}/{} linhas ({} linhas/s)", tabela, feitas, total,
+                            feitas * 1_000_000_000L / Math.max(1, System.nanoTime() - inicio));
+                }
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            try {
+                tarefa.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Geração interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha ao gerar " + tabela, e.getCause());
+            }
+        }
+        log.info("{}: {} linhas em {} ms", tabela, total, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /** Os feedbacks foram inseridos por fora do serviço, então o agregado de reputação é montado de uma vez. */
+    private void consolidarReputacoes() {
+        long inicio = System.nanoTime();
+        int vendedores = jdbc.update("insert into reputacao_vendedor (usuario_id, quantidade, soma, nota1, nota2, nota3, nota4, nota5) "
+                + "select usuario_id, count(*), sum(nota), "
+                + "sum(case when nota = 1 then 1 else 0 end), sum(case when nota = 2 then 1 else 0 end), "
+                + "sum(case when nota = 3 then 1 else 0 end), sum(case when nota = 4 then 1 else 0 end), "
+                + "sum(case when nota = 5 then 1 else 0 end) "
+                + "from feedback group by usuario_id");
+        log.info("reputacao_vendedor: {} linhas em {} ms", vendedores, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /** Os ids foram atribuídos aqui, então sequências e auto incremento precisam continuar depois deles. */
+    private void ajustarGeradoresDeId() {
+        String banco = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if ("H2".equals(banco)) {
+            for (String tabela : new String[]{"usuario", "jogo", "pagamento", "transacao", "feedback"}) {
+                jdbc.execute("alter table " + tabela + " alter column id restart with " + proximoId(tabela));
+            }
+            jdbc.execute("alter sequence anuncio_seq restart with " + (proximoId("anuncio") + ALOCACAO_SEQUENCIA));
+            jdbc.execute("alter sequence conta_jogo_seq restart with " + (proximoId("conta_jogo") + ALOCACAO_SEQUENCIA));
+            jdbc.execute("alter sequence mensagem_seq restart with " + (proximoId("mensagem") + ALOCACAO_SEQUENCIA));
+        } else if ("MySQL".equals(banco)) {
+            // O auto incremento do MySQL já avança sozinho; as sequências são emuladas em tabelas
+            jdbc.update("update anuncio_seq set next_val = ?", proximoId("anuncio") + ALOCACAO_SEQUENCIA);
+            jdbc.update("update conta_jogo_seq set next_val = ?", proximoId("conta_jogo") + ALOCACAO_SEQUENCIA);
+            jdbc.update("update mensagem_seq set next_val = ?", proximoId("mensagem") + ALOCACAO_SEQUENCIA);
+        } else {
+            log.warn("Banco {} não suportado: sequências de id não foram ajustadas", banco);
+        }
+    }
+
+    private long proximoId(String tabela) {
+        Long maximo = jdbc.queryForObject("select max(id) from " + tabela, Long.class);
+        return maximo == null ? 1 : maximo + 1;
+    }
+
+    /** Índice em [0, n) com distribuição de cauda longa: quanto maior o expoente, mais concentrada nos primeiros. */
+    private static int enviesado(Random random, int n, double expoente) {
+        return Math.min(n - 1, (int) (n * Math.pow(random.nextDouble(), expoente)));
+    }
+
+    private static double preco(Random random) {
+        return Math.round(Math.exp(4.5 + random.nextGaussian() * 0.8) * 100) / 100.0;
+    }
+
+    /** Permutação de [0, anuncios) para que cada transação aponte para um anúncio diferente. */
+    private long anuncioDistinto(long i) {
+        return (i * passoAnuncios) % config.anuncios();
+    }
+
+    /** Inverso de {@link #anuncioDistinto}: o anúncio foi vendido se a transação que aponta para ele foi gerada. */
+    private boolean vendido(long anuncio) {
+        return (anuncio * inversoPassoAnuncios) % config.anuncios() < config.transacoes();
+    }
+
+    private static long mdc(long a, long b) {
+        return b == 0 ? a : mdc(b, a % b);
+    }
+
+    private static long id(long indice) {
+        return indice + 1;
+    }
+
+    private interface Linha {
+        Object[] valores(int i, Random random);
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.gameaccounts.massa;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("marketplace.massa")
+public record MassaDadosProperties(
+        long semente,
+        int threads,
+        int lote,
+        int usuarios,
+        int jogos,
+        int contas,
+        int anuncios,
+        int transacoes,
+        int feedbacks,
+        int mensagens
+) {
+    public MassaDadosProperties {
+        if (transacoes > anuncios) {
+            throw new IllegalArgumentException("Cada transação referencia um anúncio distinto: transacoes <= anuncios");
+        }
+        threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        lote = lote > 0 ? lote : 5_000;
+    }
+}
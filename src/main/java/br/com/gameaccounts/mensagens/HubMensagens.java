@@ -0,0 +1,171 @@
+package br.com.gameaccounts.mensagens;
+
+import br.com.gameaccounts.dto.MensagemResumo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canais SSE abertos por usuário. Uma conexão ociosa não prende thread nenhuma (a
+ * requisição fica em modo assíncrono no Tomcat), então o custo por conexão é só o
+ * emitter e o socket. Um heartbeat periódico derruba as conexões que o cliente abandonou.
+ * <p>
+ * Quem publica só enfileira: cada conexão tem uma fila de até {@code fila-conexao}
+ * eventos, esvaziada por uma thread virtual de cada vez, então um cliente lento que
+ * enche o buffer do socket bloqueia apenas a própria entrega, e não o persistidor nem
+ * o agendador. A conexão é encerrada quando a fila transborda ou quando um envio fica
+ * preso por mais de {@code timeout-envio}.
+ */
+@Component
+public class HubMensagens {
+    private final Map<Long, Set<Conexao>> canais = new ConcurrentHashMap<>();
+    private final AtomicInteger conexoes = new AtomicInteger();
+    private final ExecutorService envios = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-", 1).factory());
+    private final Counter descartadas;
+    private final long timeout;
+    private final long timeoutEnvio;
+    private final int limiteFila;
+
+    public HubMensagens(
+            @Value("${marketplace.mensagens.timeout-conexao:30m}") Duration timeout,
+            @Value("${marketplace.mensagens.timeout-envio:10s}") Duration timeoutEnvio,
+            @Value("${marketplace.mensagens.fila-conexao:100}") int limiteFila,
+            MeterRegistry registry
+    ) {
+        this.timeout = timeout.toMillis();
+        this.timeoutEnvio = timeoutEnvio.toMillis();
+        this.limiteFila = limiteFila;
+        this.descartadas = registry.counter("marketplace.mensagens.conexoes.descartadas");
+        registry.gauge("marketplace.mensagens.conexoes", conexoes);
+    }
+
+    public SseEmitter conectar(Long usuarioId) {
+        Conexao conexao = new Conexao(usuarioId, new SseEmitter(timeout));
+        canais.computeIfAbsent(usuarioId, id -> ConcurrentHashMap.newKeySet()).add(conexao);
+        conexoes.incrementAndGet();
+        Runnable remover = () -> remover(conexao);
+        conexao.emitter.onCompletion(remover);
+        conexao.emitter.onTimeout(remover);
+        conexao.emitter.onError(e -> remover.run());
+        return conexao.emitter;
+    }
+
+    /** Entrega a mensagem ao destinatário e às outras sessões abertas do remetente. */
+    public void publicar(MensagemResumo mensagem) {
+        enviar(mensagem.destinatarioId(), mensagem);
+        enviar(mensagem.remetenteId(), mensagem);
+    }
+
+    @Scheduled(fixedDelayString = "${marketplace.mensagens.heartbeat:30s}")
+    public void heartbeat() {
+        long agora = System.currentTimeMillis();
+        canais.values().forEach(conexoesDoUsuario -> {
+            for (Conexao conexao : conexoesDoUsuario) {
+                long desde = conexao.enviandoDesde;
+                if (desde != 0 && agora - desde > timeoutEnvio) {
+                    descartar(conexao);
+                } else {
+                    enfileirar(conexao, SseEmitter.event().comment("ping"));
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        envios.shutdownNow();
+    }
+
+    private void enviar(Long usuarioId, MensagemResumo mensagem) {
+        Set<Conexao> conexoesDoUsuario = canais.get(usuarioId);
+        if (conexoesDoUsuario == null) {
+            return;
+        }
+        for (Conexao conexao : conexoesDoUsuario) {
+            enfileirar(conexao, SseEmitter.event().name("mensagem").id(String.valueOf(mensagem.id())).data(mensagem));
+        }
+    }
+
+    private void enfileirar(Conexao conexao, SseEventBuilder evento) {
+        if (conexao.pendentes.incrementAndGet() > limiteFila) {
+            descartar(conexao);
+            return;
+        }
+        conexao.fila.add(evento);
+        if (conexao.drenando.compareAndSet(false, true)) {
+            envios.execute(() -> drenar(conexao));
+        }
+    }
+
+    private void drenar(Conexao conexao) {
+        do {
+            SseEventBuilder evento;
+            while ((evento = conexao.fila.poll()) != null) {
+                conexao.pendentes.decrementAndGet();
+                conexao.enviandoDesde = System.currentTimeMillis();
+                try {
+                    conexao.emitter.send(evento);
+                } catch (IOException | IllegalStateException e) {
+                    remover(conexao);
+                    return;
+                } finally {
+                    conexao.enviandoDesde = 0;
+                }
+            }
+            conexao.drenando.set(false);
+            // Um evento enfileirado depois do último poll e antes de soltar a marca ainda é enviado aqui
+        } while (!conexao.fila.isEmpty() && conexao.drenando.compareAndSet(false, true));
+    }
+
+    /** Cliente que não acompanha: sai do hub na hora e o emitter é fechado fora de quem chamou. */
+    private void descartar(Conexao conexao) {
+        if (remover(conexao)) {
+            descartadas.increment();
+            conexao.fila.clear();
+            envios.execute(conexao.emitter::complete);
+        }
+    }
+
+    private boolean remover(Conexao conexao) {
+        AtomicBoolean removida = new AtomicBoolean();
+        canais.computeIfPresent(conexao.usuarioId, (id, conexoesDoUsuario) -> {
+            if (conexoesDoUsuario.remove(conexao)) {
+                conexoes.decrementAndGet();
+                removida.set(true);
+            }
+            return conexoesDoUsuario.isEmpty() ? null : conexoesDoUsuario;
+        });
+        return removida.get();
+    }
+
+    private static final class Conexao {
+        final Long usuarioId;
+        final SseEmitter emitter;
+        final Queue<SseEventBuilder> fila = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pendentes = new AtomicInteger();
+        final AtomicBoolean drenando = new AtomicBoolean();
+        volatile long enviandoDesde;
+
+        Conexao(Long usuarioId, SseEmitter emitter) {
+            this.usuarioId = usuarioId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.gameaccounts.mensagens;
+
+import br.com.gameaccounts.dto.MensagemResumo;
+import br.com.gameaccounts.dto.NovaMensagem;
+import br.com.gameaccounts.model.Mensagem;
+import br.com.gameaccounts.model.Usuario;
+import br.com.gameaccounts.repository.MensagemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava as mensagens em segundo plano (write-behind). As requisições só enfileiram; uma
+ * thread dedicada junta até {@code lote} mensagens ou espera no máximo {@code intervalo},
+ * insere o bloco em uma transação com inserts JDBC em lote e só então publica no
+ * {@link HubMensagens}, de modo que o que chega ao cliente já tem id e está persistido.
+ */
+@Component
+public class PersistidorMensagens {
+    private static final Logger log = LoggerFactory.getLogger(PersistidorMensagens.class);
+
+    @Autowired
+    private MensagemRepository repository;
+
+    @Autowired
+    private HubMensagens hub;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BlockingQueue<Pendente> fila;
+    private final int lote;
+    private final long intervaloNanos;
+    private final Thread escritor;
+    private volatile boolean ativo = true;
+
+    public PersistidorMensagens(
+            @Value("${marketplace.mensagens.fila:100000}") int capacidade,
+            @Value("${marketplace.mensagens.lote:500}") int lote,
+            @Value("${marketplace.mensagens.intervalo:20ms}") Duration intervalo,
+            MeterRegistry registry
+    ) {
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.lote = lote;
+        this.intervaloNanos = intervalo.toNanos();
+        this.escritor = Thread.ofPlatform().daemon().name("persistidor-mensagens").unstarted(this::executar);
+        registry.gaugeCollectionSize("marketplace.mensagens.pendentes", List.of(), fila);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        escritor.start();
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        ativo = false;
+        escritor.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /** Retorna {@code false} quando a fila está cheia e a mensagem não foi aceita. */
+    public boolean enfileirar(NovaMensagem mensagem) {
+        return fila.offer(new Pendente(mensagem, LocalDateTime.now()));
+    }
+
+    private void executar() {
+        List<Pendente> bloco = new ArrayList<>(lote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Pendente primeira = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+                bloco.add(primeira);
+                long limite = System.nanoTime() + intervaloNanos;
+                while (bloco.size() < lote) {
+                    if (fila.drainTo(bloco, lote - bloco.size()) > 0) {
+                        continue;
+                    }
+                    long restante = limite - System.nanoTime();
+                    Pendente proxima = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : null;
+                    if (proxima == null) {
+                        break;
+                    }
+                    bloco.add(proxima);
+                }
+                gravar(bloco);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada ao gravar {} mensagens", bloco.size(), e);
+            } finally {
+                bloco.clear();
+            }
+        }
+    }
+
+    private void gravar(List<Pendente> bloco) {
+        List<Mensagem> salvas;
+        try {
+            salvas = transactionTemplate.execute(status -> inserir(bloco));
+        } catch (RuntimeException e) {
+            // Uma mensagem inválida não pode derrubar o bloco inteiro: grava uma a uma e descarta as que falharem
+            salvas = new ArrayList<>(bloco.size());
+            for (Pendente pendente : bloco) {
+                try {
+                    salvas.addAll(transactionTemplate.execute(status -> inserir(List.of(pendente))));
+                } catch (RuntimeException falha) {
+                    log.warn("Mensagem descartada de {} para {}: {}", pendente.mensagem().remetenteId(),
+                            pendente.mensagem().destinatarioId(), falha.getMessage());
+                }
+            }
+        }
+        for (Mensagem mensagem : salvas) {
+            hub.publicar(MensagemResumo.de(mensagem));
+        }
+    }
+
+    private List<Mensagem> inserir(List<Pendente> bloco) {
+        List<Mensagem> mensagens = new ArrayList<>(bloco.size());
+        for (Pendente pendente : bloco) {
+            NovaMensagem nova = pendente.mensagem();
+            mensagens.add(new Mensagem(nova.texto(),
+                    entityManager.getReference(Usuario.class, nova.remetenteId()),
+                    entityManager.getReference(Usuario.class, nova.destinatarioId()),
+                    pendente.enviadaEm()));
+        }
+        return repository.saveAll(mensagens);
+    }
+
+    private record Pendente(NovaMensagem mensagem, LocalDateTime enviadaEm) {
+    }
+}
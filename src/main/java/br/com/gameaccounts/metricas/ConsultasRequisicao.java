@@ -0,0 +1,52 @@
+package br.com.gameaccounts.metricas;
+
+/**
+ * Acumula, na thread da requisição, quantas instruções SQL foram executadas e quanto
+ * tempo elas levaram. Alimentado pelo {@link MonitorConsultas} e lido pelo
+ * {@link MetricasRequisicaoFilter}.
+ */
+final class ConsultasRequisicao {
+    private static final ThreadLocal<ConsultasRequisicao> ATUAL = new ThreadLocal<>();
+    private static final ThreadLocal<String> ULTIMO_SQL = new ThreadLocal<>();
+
+    private int quantidade;
+    private long nanos;
+
+    private ConsultasRequisicao() {
+    }
+
+    static void iniciar() {
+        ATUAL.set(new ConsultasRequisicao());
+    }
+
+    static ConsultasRequisicao encerrar() {
+        ConsultasRequisicao consultas = ATUAL.get();
+        ATUAL.remove();
+        ULTIMO_SQL.remove();
+        return consultas;
+    }
+
+    static void registrar(long nanos) {
+        ConsultasRequisicao consultas = ATUAL.get();
+        if (consultas != null) {
+            consultas.quantidade++;
+            consultas.nanos += nanos;
+        }
+    }
+
+    static void preparar(String sql) {
+        ULTIMO_SQL.set(sql);
+    }
+
+    static String ultimoSql() {
+        return ULTIMO_SQL.get();
+    }
+
+    int getQuantidade() {
+        return quantidade;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.gameaccounts.metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Guarda o SQL que está sendo preparado para que o log de consultas lentas saiba o que foi executado. */
+public class InspetorSql implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        ConsultasRequisicao.preparar(sql);
+        return sql;
+    }
+}
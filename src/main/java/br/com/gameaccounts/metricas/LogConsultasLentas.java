@@ -0,0 +1,94 @@
+package br.com.gameaccounts.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substitui o {@code show-sql}: registra as instruções acima do limite e uma amostra das
+ * demais. A thread da requisição só enfileira; a escrita no log acontece em uma thread
+ * separada, e quando a fila enche as entradas são descartadas e contadas.
+ */
+@Component
+public class LogConsultasLentas {
+    private static final Logger log = LoggerFactory.getLogger(LogConsultasLentas.class);
+
+    private static volatile LogConsultasLentas ativo;
+
+    private final long limiteNanos;
+    private final double amostragem;
+    private final BlockingQueue<Entrada> fila;
+    private final Counter descartadas;
+    private final Thread escritor;
+
+    public LogConsultasLentas(
+            @Value("${marketplace.metricas.consulta-lenta:100ms}") Duration limite,
+            @Value("${marketplace.metricas.amostragem-sql:0}") double amostragem,
+            @Value("${marketplace.metricas.fila-log-sql:10000}") int capacidade,
+            MeterRegistry registry
+    ) {
+        this.limiteNanos = limite.toNanos();
+        this.amostragem = amostragem;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.descartadas = registry.counter("marketplace.sql.log.descartadas");
+        this.escritor = Thread.ofPlatform().daemon().name("log-consultas-lentas").unstarted(this::escrever);
+    }
+
+    static LogConsultasLentas ativo() {
+        return ativo;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        escritor.start();
+        ativo = this;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (ativo == this) {
+            ativo = null;
+        }
+        escritor.interrupt();
+    }
+
+    void avaliar(String sql, long nanos) {
+        boolean lenta = nanos >= limiteNanos;
+        if (!lenta && (amostragem <= 0 || ThreadLocalRandom.current().nextDouble() >= amostragem)) {
+            return;
+        }
+        if (!fila.offer(new Entrada(sql, nanos, lenta))) {
+            descartadas.increment();
+        }
+    }
+
+    private void escrever() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Entrada entrada = fila.take();
+                long ms = TimeUnit.NANOSECONDS.toMillis(entrada.nanos());
+                if (entrada.lenta()) {
+                    log.warn("Consulta lenta ({} ms): {}", ms, entrada.sql());
+                } else {
+                    log.info("SQL ({} ms): {}", ms, entrada.sql());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Entrada(String sql, long nanos, boolean lenta) {
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.gameaccounts.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica, por endpoint, quantas instruções SQL cada requisição executou e o tempo gasto
+ * nelas. A latência total do endpoint já vem do {@code http.server.requests} do Spring.
+ */
+@Component
+public class MetricasRequisicaoFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ConsultasRequisicao.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ConsultasRequisicao consultas = ConsultasRequisicao.encerrar();
+            Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+            DistributionSummary.builder("marketplace.http.consultas")
+                    .description("Instruções SQL executadas por requisição")
+                    .tags("uri", uri, "method", request.getMethod())
+                    .register(registry)
+                    .record(consultas.getQuantidade());
+            Timer.builder("marketplace.http.consultas.tempo")
+                    .description("Tempo gasto em SQL por requisição")
+                    .tags("uri", uri, "method", request.getMethod())
+                    .register(registry)
+                    .record(consultas.getNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
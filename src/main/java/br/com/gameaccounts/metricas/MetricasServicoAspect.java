@@ -0,0 +1,36 @@
+package br.com.gameaccounts.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/** Cronometra todo método público dos serviços como {@code marketplace.servico}. */
+@Aspect
+@Component
+public class MetricasServicoAspect {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Around("within(br.com.gameaccounts.service..*) && execution(public * *(..))")
+    public Object cronometrar(ProceedingJoinPoint ponto) throws Throwable {
+        Timer.Sample amostra = Timer.start(registry);
+        String excecao = "none";
+        try {
+            return ponto.proceed();
+        } catch (Throwable e) {
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder("marketplace.servico")
+                    .tags("classe", ponto.getSignature().getDeclaringType().getSimpleName(),
+                            "metodo", ponto.getSignature().getName(),
+                            "exception", excecao)
+                    .register(registry));
+        }
+    }
+}
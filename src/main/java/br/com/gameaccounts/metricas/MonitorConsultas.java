@@ -0,0 +1,41 @@
+package br.com.gameaccounts.metricas;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Listener de sessão do Hibernate que cronometra cada execução JDBC. Instanciado pelo
+ * Hibernate em cada sessão ({@code hibernate.session.events.auto}), por isso conversa
+ * com o restante da aplicação por estado estático.
+ */
+public class MonitorConsultas implements SessionEventListener {
+    private long inicio;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        registrar();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        registrar();
+    }
+
+    private void registrar() {
+        long nanos = System.nanoTime() - inicio;
+        ConsultasRequisicao.registrar(nanos);
+        LogConsultasLentas log = LogConsultasLentas.ativo();
+        if (log != null) {
+            log.avaliar(ConsultasRequisicao.ultimoSql(), nanos);
+        }
+    }
+}
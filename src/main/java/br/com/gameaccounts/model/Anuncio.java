@@ -1,18 +1,50 @@
 package br.com.gameaccounts.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
+@SQLRestriction("excluido = false")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = "Anuncio.detalhes", attributeNodes = {
+        @NamedAttributeNode("usuario"),
+        @NamedAttributeNode("jogo")
+})
+@Table(indexes = {
+        @Index(name = "idx_anuncio_preco", columnList = "preco, id"),
+        @Index(name = "idx_anuncio_usuario_preco", columnList = "usuario_id, preco"),
+        @Index(name = "idx_anuncio_jogo_preco", columnList = "jogo_id, preco")
+})
 public class Anuncio {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "anuncio_seq")
+    @SequenceGenerator(name = "anuncio_seq", sequenceName = "anuncio_seq", allocationSize = 50)
     private Long id;
     private String descricao;
     private double preco;
+    private boolean vendido;
+
+    @Version
+    private long versao;
+    @UpdateTimestamp
+    private LocalDateTime atualizadoEm;
+    private boolean excluido;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Usuario usuario;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Jogo jogo;
+
     public Anuncio() {}
 
     public Anuncio(String descricao, double preco, Usuario usuario) {
@@ -21,6 +53,11 @@ public class Anuncio {
         this.usuario = usuario;
     }
 
+    public Anuncio(String descricao, double preco, Usuario usuario, Jogo jogo) {
+        this(descricao, preco, usuario);
+        this.jogo = jogo;
+    }
+
     public Long getId() {
         return id;
     }
@@ -40,4 +77,31 @@ public class Anuncio {
     public Usuario getUsuario() {
         return usuario;
     }
+
+    public Jogo getJogo() {
+        return jogo;
+    }
+
+    public boolean isVendido() {
+        return vendido;
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void marcarVendido() {
+        this.vendido = true;
+    }
+
+    public void atualizar(Anuncio dados) {
+        this.descricao = dados.descricao;
+        this.preco = dados.preco;
+        this.usuario = dados.usuario;
+        this.jogo = dados.jogo;
+    }
 }
@@ -1,24 +1,61 @@
 package br.com.gameaccounts.model;
 
+import br.com.gameaccounts.credenciais.SenhaContaConverter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
+@SQLRestriction("excluido = false")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = "ContaJogo.detalhes", attributeNodes = {
+        @NamedAttributeNode("usuario"),
+        @NamedAttributeNode("jogo")
+})
+@Table(indexes = {
+        @Index(name = "idx_conta_jogo_usuario", columnList = "usuario_id, id"),
+        @Index(name = "idx_conta_jogo_jogo", columnList = "jogo_id, id")
+})
 public class ContaJogo {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conta_jogo_seq")
+    @SequenceGenerator(name = "conta_jogo_seq", sequenceName = "conta_jogo_seq", allocationSize = 50)
     private Long id;
     private String login;
+    // Só entra pelo corpo das requisições; o dono lê em POST /contas/{id}/credenciais
+    @Convert(converter = SenhaContaConverter.class)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String senha;
 
-    @ManyToOne
+    @Version
+    private long versao;
+    @UpdateTimestamp
+    private LocalDateTime atualizadoEm;
+    private boolean excluido;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Usuario usuario;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     private Jogo jogo;
 
     public ContaJogo() {}
 
     public ContaJogo(String login, String senha, Jogo jogo) {
+        this(login, senha, jogo, null);
+    }
+
+    public ContaJogo(String login, String senha, Jogo jogo, Usuario usuario) {
         this.login = login;
         this.senha = senha;
         this.jogo = jogo;
+        this.usuario = usuario;
     }
 
     public Long getId() {
@@ -37,7 +74,29 @@ public class ContaJogo {
         return senha;
     }
 
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
     public Jogo getJogo() {
         return jogo;
     }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void atualizar(ContaJogo dados) {
+        this.login = dados.login;
+        // A senha nunca sai nas respostas, então um PUT sem ela mantém a atual
+        if (dados.senha != null) {
+            this.senha = dados.senha;
+        }
+        this.jogo = dados.jogo;
+        this.usuario = dados.usuario;
+    }
 }
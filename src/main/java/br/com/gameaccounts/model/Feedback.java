@@ -1,8 +1,11 @@
 package br.com.gameaccounts.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(indexes = @Index(name = "idx_feedback_usuario", columnList = "usuario_id, id"))
 public class Feedback {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -10,7 +13,7 @@ public class Feedback {
     private String comentario;
     private int nota;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Usuario usuario;
 
     public Feedback() {}
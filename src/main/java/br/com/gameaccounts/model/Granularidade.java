@@ -0,0 +1,19 @@
+package br.com.gameaccounts.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum Granularidade {
+    HORA(ChronoUnit.HOURS),
+    DIA(ChronoUnit.DAYS);
+
+    private final ChronoUnit unidade;
+
+    Granularidade(ChronoUnit unidade) {
+        this.unidade = unidade;
+    }
+
+    public LocalDateTime truncar(LocalDateTime data) {
+        return data.truncatedTo(unidade);
+    }
+}
@@ -1,8 +1,20 @@
 package br.com.gameaccounts.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
+@SQLRestriction("excluido = false")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Jogo {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -10,6 +22,12 @@ public class Jogo {
     private String nome;
     private String plataforma;
 
+    @Version
+    private long versao;
+    @UpdateTimestamp
+    private LocalDateTime atualizadoEm;
+    private boolean excluido;
+
     public Jogo() {}
 
     public Jogo(String nome, String plataforma) {
@@ -32,4 +50,17 @@ public class Jogo {
     public String getPlataforma() {
         return plataforma;
     }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void atualizar(Jogo dados) {
+        this.nome = dados.nome;
+        this.plataforma = dados.plataforma;
+    }
 }
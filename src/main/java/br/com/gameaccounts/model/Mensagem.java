@@ -1,26 +1,38 @@
 package br.com.gameaccounts.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(indexes = @Index(name = "idx_mensagem_conversa", columnList = "remetente_id, destinatario_id, id"))
 public class Mensagem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mensagem_seq")
+    @SequenceGenerator(name = "mensagem_seq", sequenceName = "mensagem_seq", allocationSize = 50)
     private Long id;
     private String texto;
+    private LocalDateTime enviadaEm;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Usuario remetente;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Usuario destinatario;
 
     public Mensagem() {}
 
     public Mensagem(String texto, Usuario remetente, Usuario destinatario) {
+        this(texto, remetente, destinatario, LocalDateTime.now());
+    }
+
+    public Mensagem(String texto, Usuario remetente, Usuario destinatario, LocalDateTime enviadaEm) {
         this.texto = texto;
         this.remetente = remetente;
         this.destinatario = destinatario;
+        this.enviadaEm = enviadaEm;
     }
 
     public Long getId() {
@@ -31,6 +43,10 @@ public class Mensagem {
         return texto;
     }
 
+    public LocalDateTime getEnviadaEm() {
+        return enviadaEm;
+    }
+
     public Usuario getRemetente() {
         return remetente;
     }
@@ -1,8 +1,10 @@
 package br.com.gameaccounts.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Pagamento {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,52 @@
+package br.com.gameaccounts.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Agregado materializado dos feedbacks de um vendedor. Atualizado de forma incremental a
+ * cada feedback novo por {@code ReputacaoVendedorRepository.incrementar}, nunca recalculado.
+ */
+@Entity
+public class ReputacaoVendedor {
+    @Id
+    private Long usuarioId;
+    private long quantidade;
+    private long soma;
+    private long nota1;
+    private long nota2;
+    private long nota3;
+    private long nota4;
+    private long nota5;
+
+    public ReputacaoVendedor() {}
+
+    public ReputacaoVendedor(Long usuarioId, int nota) {
+        this.usuarioId = usuarioId;
+        this.quantidade = 1;
+        this.soma = nota;
+        switch (nota) {
+            case 1 -> nota1 = 1;
+            case 2 -> nota2 = 1;
+            case 3 -> nota3 = 1;
+            case 4 -> nota4 = 1;
+            default -> nota5 = 1;
+        }
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public long getSoma() {
+        return soma;
+    }
+
+    public long[] getHistograma() {
+        return new long[]{nota1, nota2, nota3, nota4, nota5};
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.gameaccounts.model;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Vendas pré-agregadas por balde de hora ou dia, jogo e vendedor. Mantido de forma
+ * incremental a cada transação e reconstruído por período pelo reprocessamento.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_rollup_venda_jogo", columnList = "granularidade, jogo_id, inicio"),
+        @Index(name = "idx_rollup_venda_vendedor", columnList = "granularidade, vendedor_id, inicio")
+})
+public class RollupVenda {
+    @EmbeddedId
+    private RollupVendaId id;
+    private long quantidade;
+    private double receita;
+
+    public RollupVenda() {}
+
+    public RollupVenda(RollupVendaId id, long quantidade, double receita) {
+        this.id = id;
+        this.quantidade = quantidade;
+        this.receita = receita;
+    }
+
+    public RollupVendaId getId() {
+        return id;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public double getReceita() {
+        return receita;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.gameaccounts.model;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.time.LocalDateTime;
+
+/** Chave de um balde de vendas; anúncios sem jogo ou sem vendedor caem no id 0. */
+@Embeddable
+public record RollupVendaId(
+        @Enumerated(EnumType.STRING) Granularidade granularidade,
+        LocalDateTime inicio,
+        Long jogoId,
+        Long vendedorId
+) {
+}
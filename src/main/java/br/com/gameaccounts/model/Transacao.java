@@ -1,9 +1,21 @@
 package br.com.gameaccounts.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = "Transacao.detalhes",
+        attributeNodes = {
+                @NamedAttributeNode(value = "anuncio", subgraph = "anuncio"),
+                @NamedAttributeNode("pagamento")
+        },
+        subgraphs = @NamedSubgraph(name = "anuncio", attributeNodes = {
+                @NamedAttributeNode("usuario"),
+                @NamedAttributeNode("jogo")
+        }))
+@Table(indexes = @Index(name = "idx_transacao_data", columnList = "data"))
 public class Transacao {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -11,10 +23,11 @@ public class Transacao {
     private LocalDateTime data;
     private double valor;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(unique = true)
     private Anuncio anuncio;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private Pagamento pagamento;
 
     public Transacao() {}
@@ -25,6 +38,11 @@ public class Transacao {
         this.anuncio = anuncio;
     }
 
+    public Transacao(LocalDateTime data, double valor, Anuncio anuncio, Pagamento pagamento) {
+        this(data, valor, anuncio);
+        this.pagamento = pagamento;
+    }
+
     public Long getId() {
         return id;
     }
@@ -48,4 +66,11 @@ public class Transacao {
     public Pagamento getPagamento() {
         return pagamento;
     }
+
+    public void atualizar(Transacao dados) {
+        this.data = dados.data;
+        this.valor = dados.valor;
+        this.anuncio = dados.anuncio;
+        this.pagamento = dados.pagamento;
+    }
 }
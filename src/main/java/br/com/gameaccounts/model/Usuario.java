@@ -1,16 +1,34 @@
 package br.com.gameaccounts.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
+@SQLRestriction("excluido = false")
+@Table(indexes = @Index(name = "idx_usuario_email", columnList = "email"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Usuario {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String nome;
     private String email;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String senha;
 
+    @Version
+    private long versao;
+    @UpdateTimestamp
+    private LocalDateTime atualizadoEm;
+    private boolean excluido;
+
     public Usuario() {}
 
     public Usuario(String nome, String email, String senha) {
@@ -38,4 +56,22 @@ public class Usuario {
     public String getSenha() {
         return senha;
     }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void alterarSenha(String senha) {
+        this.senha = senha;
+    }
+
+    public void atualizar(Usuario dados) {
+        this.nome = dados.nome;
+        this.email = dados.email;
+        this.senha = dados.senha;
+    }
 }
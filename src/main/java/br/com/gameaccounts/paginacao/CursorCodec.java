@@ -0,0 +1,103 @@
+package br.com.gameaccounts.paginacao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Converte a posição de um {@link Window} em um token opaco (JSON em Base64 URL-safe)
+ * com a última chave de ordenação e o id, e faz o caminho inverso restaurando os tipos
+ * dos atributos a partir do metamodelo JPA. O token leva também a ordenação (propriedades
+ * e direções) da requisição que o gerou; usado com outra ordenação, responde 400 em vez
+ * de devolver uma página que pula ou repete linhas.
+ */
+@Component
+public class CursorCodec {
+    private static final String ORDEM = "ordem";
+    private static final String CHAVES = "chaves";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    public <T> PaginaCursor<T> paraPagina(Window<T> janela, Sort ordem) {
+        String proximoCursor = null;
+        if (janela.hasNext() && !janela.isEmpty()) {
+            proximoCursor = codificar(janela.positionAt(janela.size() - 1), ordem);
+        }
+        return new PaginaCursor<>(janela.getContent(), janela.size(), janela.hasNext(), proximoCursor);
+    }
+
+    public String codificar(ScrollPosition posicao, Sort ordem) {
+        if (!(posicao instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Apenas posições keyset podem ser codificadas");
+        }
+        try {
+            Map<String, Object> token = new LinkedHashMap<>();
+            token.put(ORDEM, descrever(ordem));
+            token.put(CHAVES, keyset.getKeys());
+            byte[] json = objectMapper.writeValueAsBytes(token);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao codificar cursor", e);
+        }
+    }
+
+    public ScrollPosition decodificar(String cursor, Class<?> entidade, Sort ordem) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        JsonNode raiz;
+        try {
+            raiz = objectMapper.readTree(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido", e);
+        }
+        if (!raiz.path(ORDEM).asText("").equals(descrever(ordem))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cursor gerado para outra ordenação; repita sort e direction da primeira página");
+        }
+        try {
+            EntityType<?> tipo = entityManager.getMetamodel().entity(entidade);
+            Map<String, Object> chaves = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> campos = raiz.path(CHAVES).fields();
+            while (campos.hasNext()) {
+                Map.Entry<String, JsonNode> campo = campos.next();
+                Class<?> javaType = tipo.getAttribute(campo.getKey()).getJavaType();
+                chaves.put(campo.getKey(), objectMapper.treeToValue(campo.getValue(), javaType));
+            }
+            if (chaves.isEmpty()) {
+                throw new IllegalArgumentException("Cursor sem chaves");
+            }
+            return ScrollPosition.forward(chaves);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido", e);
+        }
+    }
+
+    private static String descrever(Sort ordem) {
+        StringJoiner descricao = new StringJoiner(",");
+        for (Sort.Order ordenacao : ordem) {
+            descricao.add(ordenacao.getProperty() + ":" + ordenacao.getDirection());
+        }
+        return descricao.toString();
+    }
+}
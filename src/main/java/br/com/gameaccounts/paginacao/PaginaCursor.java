@@ -0,0 +1,6 @@
+package br.com.gameaccounts.paginacao;
+
+import java.util.List;
+
+public record PaginaCursor<T>(List<T> conteudo, int tamanho, boolean temProxima, String proximoCursor) {
+}
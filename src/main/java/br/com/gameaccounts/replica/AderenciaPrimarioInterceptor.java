@@ -0,0 +1,68 @@
+package br.com.gameaccounts.replica;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Leitura das próprias escritas. Requisições que alteram dados usam só o primário do
+ * início ao fim, já que o EntityManager aberto na requisição mantém a primeira conexão
+ * obtida. Elas também devolvem um cookie válido por {@code marketplace.replica.aderencia};
+ * enquanto ele existir, as leituras do mesmo cliente vão ao primário. Assim o cliente não
+ * lê da réplica um dado anterior à sua escrita, e nenhum estado fica guardado no servidor.
+ */
+public class AderenciaPrimarioInterceptor implements HandlerInterceptor {
+    public static final String COOKIE = "marketplace-escrita";
+    private static final String PRIMARIO = AderenciaPrimarioInterceptor.class.getName() + ".PRIMARIO";
+    private static final Set<String> METODOS_LEITURA = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration aderencia;
+
+    public AderenciaPrimarioInterceptor(Duration aderencia) {
+        this.aderencia = aderencia;
+    }
+
+    /** Fora de uma requisição (tarefas agendadas, executores) não há aderência. */
+    public static boolean exigePrimario() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        return atributos != null && atributos.getAttribute(PRIMARIO, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long agora = System.currentTimeMillis();
+        if (!METODOS_LEITURA.contains(request.getMethod())) {
+            request.setAttribute(PRIMARIO, Boolean.TRUE);
+            Cookie cookie = new Cookie(COOKIE, Long.toString(agora));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, aderencia.toSeconds()));
+            response.addCookie(cookie);
+        } else if (agora - ultimaEscrita(request) < aderencia.toMillis()) {
+            request.setAttribute(PRIMARIO, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    private static long ultimaEscrita(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.gameaccounts.replica;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Mede o atraso da réplica por batimento: a cada intervalo grava o instante atual numa
+ * linha de {@code replica_batimento} no primário e lê a mesma linha na réplica. O atraso
+ * é a idade do valor lido, então inclui até um intervalo além do atraso de replicação e
+ * o limite precisa ser maior que o intervalo. Acima do limite, sem batimento ou com falha
+ * ao consultar a réplica, as leituras voltam ao primário até a próxima medição boa. Uma
+ * medição boa vale por {@value #BATIMENTOS_VALIDOS} intervalos: se os batimentos param ou
+ * atrasam (agendador ocupado, primário travado), a réplica deixa de ser usada sozinha.
+ */
+public class MonitorReplica {
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+    private static final int BATIMENTOS_VALIDOS = 3;
+
+    private final JdbcTemplate primario;
+    private final JdbcTemplate replica;
+    private final long atrasoMaximoMillis;
+    private final long validadeMillis;
+    private volatile boolean disponivel;
+    private volatile long ultimaMedicaoBoa;
+    private volatile long atrasoMillis = -1;
+    private boolean tabelaCriada;
+
+    public MonitorReplica(DataSource primario, DataSource replica, Duration batimento, Duration atrasoMaximo,
+                          MeterRegistry registry) {
+        this.primario = new JdbcTemplate(primario);
+        this.replica = new JdbcTemplate(replica);
+        this.atrasoMaximoMillis = atrasoMaximo.toMillis();
+        this.validadeMillis = BATIMENTOS_VALIDOS * batimento.toMillis();
+        registry.gauge("marketplace.replica.atraso", this, m -> m.atrasoMillis / 1000.0);
+        registry.gauge("marketplace.replica.disponivel", this, m -> m.isDisponivel() ? 1 : 0);
+    }
+
+    public boolean isDisponivel() {
+        return disponivel && System.currentTimeMillis() - ultimaMedicaoBoa <= validadeMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${marketplace.replica.batimento:500ms}")
+    public void verificar() {
+        try {
+            if (!tabelaCriada) {
+                primario.execute("create table if not exists replica_batimento (id int primary key, instante bigint not null)");
+                tabelaCriada = true;
+            }
+            Long instante = replica.query("select instante from replica_batimento where id = 1",
+                    rs -> rs.next() ? rs.getLong(1) : null);
+            bater();
+            avaliar(instante == null ? null : Duration.ofMillis(System.currentTimeMillis() - instante));
+        } catch (DataAccessException e) {
+            indisponivel("falha ao consultar a réplica: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    /** Chamado pelo roteador quando não consegue conexão com a réplica. */
+    void falhou(Exception e) {
+        indisponivel("sem conexão com a réplica: " + e.getMessage());
+    }
+
+    void avaliar(Duration atraso) {
+        if (atraso == null) {
+            indisponivel("réplica ainda sem batimento");
+            return;
+        }
+        atrasoMillis = atraso.toMillis();
+        if (atrasoMillis > atrasoMaximoMillis) {
+            indisponivel("atraso de " + atrasoMillis + " ms");
+            return;
+        }
+        boolean voltou = !isDisponivel();
+        ultimaMedicaoBoa = System.currentTimeMillis();
+        disponivel = true;
+        if (voltou) {
+            log.info("Réplica com atraso de {} ms; leituras voltam para ela", atrasoMillis);
+        }
+    }
+
+    private void bater() {
+        long agora = System.currentTimeMillis();
+        if (primario.update("update replica_batimento set instante = ? where id = 1", agora) == 0) {
+            try {
+                primario.update("insert into replica_batimento (id, instante) values (1, ?)", agora);
+            } catch (DuplicateKeyException e) {
+                // Outro nó criou a linha ao mesmo tempo; o próximo batimento a atualiza
+            }
+        }
+    }
+
+    private void indisponivel(String motivo) {
+        if (disponivel) {
+            disponivel = false;
+            log.warn("Leituras desviadas para o primário: {}", motivo);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.gameaccounts.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Envia as transações {@code readOnly} para a réplica e todo o resto para o primário.
+ * Precisa ficar atrás de um {@code LazyConnectionDataSourceProxy}: só assim a conexão é
+ * obtida no primeiro comando, quando a transação já marcou se é somente leitura.
+ * <p>
+ * A réplica é evitada enquanto o {@link MonitorReplica} a considera atrasada ou fora do
+ * ar e quando a requisição exige o primário ({@link AderenciaPrimarioInterceptor}). Se a
+ * conexão com a réplica falhar, a leitura segue no primário em vez de falhar.
+ */
+public class RoteadorDataSource extends AbstractRoutingDataSource {
+    public enum Destino { PRIMARIO, REPLICA }
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final MonitorReplica monitor;
+    private final Counter paraPrimario;
+    private final Counter paraReplica;
+
+    public RoteadorDataSource(DataSource primario, DataSource replica, MonitorReplica monitor, MeterRegistry registry) {
+        this.primario = primario;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.paraPrimario = registry.counter("marketplace.replica.conexoes", "destino", "primario");
+        this.paraReplica = registry.counter("marketplace.replica.conexoes", "destino", "replica");
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+    }
+
+    @Override
+    protected Destino determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !AderenciaPrimarioInterceptor.exigePrimario()
+                && monitor.isDisponivel() ? Destino.REPLICA : Destino.PRIMARIO;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Destino.REPLICA) {
+            try {
+                Connection conexao = replica.getConnection();
+                paraReplica.increment();
+                return conexao;
+            } catch (SQLException e) {
+                monitor.falhou(e);
+            }
+        }
+        paraPrimario.increment();
+        return primario.getConnection();
+    }
+}
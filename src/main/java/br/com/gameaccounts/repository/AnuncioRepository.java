@@ -1,13 +1,102 @@
 package br.com.gameaccounts.repository;
 
+import br.com.gameaccounts.busca.TextoIndexado;
+import br.com.gameaccounts.dto.AnuncioResumo;
+import br.com.gameaccounts.dto.VersaoRecurso;
 import br.com.gameaccounts.model.Anuncio;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface AnuncioRepository extends JpaRepository<Anuncio, Long>, JpaSpecificationExecutor<Anuncio> {
-    Page<Anuncio> findByDescricaoContainingIgnoreCase(String descricao, Pageable pageable);
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface AnuncioRepository extends JpaRepository<Anuncio, Long>, JpaSpecificationExecutor<Anuncio>, AnuncioRepositoryCustom {
+    @Override
+    @EntityGraph("Anuncio.detalhes")
+    List<Anuncio> findAll();
+
+    @Override
+    @EntityGraph("Anuncio.detalhes")
+    Page<Anuncio> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("Anuncio.detalhes")
+    Page<Anuncio> findAll(Specification<Anuncio> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("Anuncio.detalhes")
+    Optional<Anuncio> findById(Long id);
+
+    @Query("select new br.com.gameaccounts.dto.VersaoRecurso(a.versao, u.versao, j.versao, " +
+            "a.atualizadoEm, u.atualizadoEm, j.atualizadoEm) " +
+            "from Anuncio a left join a.usuario u left join a.jogo j where a.id = :id")
+    Optional<VersaoRecurso> findVersaoById(@Param("id") Long id);
+
+    @Override
+    @EntityGraph("Anuncio.detalhes")
+    List<Anuncio> findAllById(Iterable<Long> ids);
+
+    @Query(value = "select new br.com.gameaccounts.dto.AnuncioResumo(a.id, a.descricao, a.preco, u.id, u.nome, j.id, j.nome) "
+            + "from Anuncio a left join a.usuario u left join a.jogo j")
+    List<AnuncioResumo> findResumos();
+
+    @Query(value = "select new br.com.gameaccounts.dto.AnuncioResumo(a.id, a.descricao, a.preco, u.id, u.nome, j.id, j.nome) "
+            + "from Anuncio a left join a.usuario u left join a.jogo j",
+            countQuery = "select count(a) from Anuncio a")
+    Page<AnuncioResumo> findResumos(Pageable pageable);
+
+    @EntityGraph("Anuncio.detalhes")
+    Window<Anuncio> findAllBy(ScrollPosition posicao, Sort sort, Limit limite);
+
+    @EntityGraph("Anuncio.detalhes")
     Page<Anuncio> findByPrecoLessThanEqual(Double precoMaximo, Pageable pageable);
+
+    @EntityGraph("Anuncio.detalhes")
     Page<Anuncio> findByPrecoGreaterThanEqual(Double precoMinimo, Pageable pageable);
+
+    @EntityGraph("Anuncio.detalhes")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Anuncio> streamAllBy();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new br.com.gameaccounts.busca.TextoIndexado(a.id, a.descricao) from Anuncio a")
+    Stream<TextoIndexado> streamDescricoes();
+
+    @Query("select a.id from Anuncio a where a.id in :ids and a.vendido = false")
+    List<Long> findIdsNaoVendidos(@Param("ids") Collection<Long> ids);
+
+    @Query("select a.id from Anuncio a where a.usuario.id = :usuarioId and a.vendido = false")
+    List<Long> findIdsNaoVendidosByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    @Query("select a.id from Anuncio a where a.jogo.id = :jogoId and a.vendido = false")
+    List<Long> findIdsNaoVendidosByJogoId(@Param("jogoId") Long jogoId);
+
+    boolean existsByIdAndVendidoTrue(Long id);
+
+    boolean existsByUsuarioIdAndVendidoTrue(Long usuarioId);
+
+    boolean existsByJogoIdAndVendidoTrue(Long jogoId);
+
+    @Modifying
+    @Query("update Anuncio a set a.excluido = true where a.id in :ids and a.vendido = false and a.excluido = false")
+    int excluirNaoVendidos(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,9 @@
+package br.com.gameaccounts.repository;
+
+import br.com.gameaccounts.busca.Facetas;
+import br.com.gameaccounts.model.Anuncio;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface AnuncioRepositoryCustom {
+    Facetas calcularFacetas(Specification<Anuncio> spec, int maxVendedores);
+}
@@ -0,0 +1,90 @@
+package br.com.gameaccounts.repository;
+
+import br.com.gameaccounts.busca.FacetaPreco;
+import br.com.gameaccounts.busca.FacetaVendedor;
+import br.com.gameaccounts.busca.Facetas;
+import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class AnuncioRepositoryImpl implements AnuncioRepositoryCustom {
+    static final double[] LIMITES_PRECO = {0, 50, 100, 200, 500, 1000};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Só conta anúncios à venda. As faixas de preço saem de uma consulta sem agrupamento,
+     * com uma soma condicional por faixa; os vendedores, de uma consulta agrupada que o
+     * banco já ordena pela contagem e corta em {@code maxVendedores} linhas.
+     * <p>
+     * São duas passadas sobre o mesmo conjunto filtrado, de propósito: numa só, agrupada
+     * por vendedor, as faixas teriam de ser somadas a partir de todos os grupos, e o corte
+     * dos vendedores sairia do banco para a aplicação. {@code ROLLUP} resolveria, mas não
+     * tem a mesma sintaxe no H2 e no MySQL.
+     */
+    @Override
+    public Facetas calcularFacetas(Specification<Anuncio> spec, int maxVendedores) {
+        Specification<Anuncio> aVenda = AnuncioSpecifications.naoVendido().and(spec);
+        return new Facetas(contarFaixas(aVenda), contarVendedores(aVenda, maxVendedores));
+    }
+
+    private List<FacetaPreco> contarFaixas(Specification<Anuncio> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Anuncio> root = query.from(Anuncio.class);
+        Expression<Double> preco = root.get("preco");
+
+        List<Selection<?>> selecoes = new ArrayList<>();
+        for (int i = 0; i < LIMITES_PRECO.length; i++) {
+            Predicate naFaixa = cb.greaterThanOrEqualTo(preco, LIMITES_PRECO[i]);
+            if (i + 1 < LIMITES_PRECO.length) {
+                naFaixa = cb.and(naFaixa, cb.lessThan(preco, LIMITES_PRECO[i + 1]));
+            }
+            selecoes.add(cb.sum(cb.<Long>selectCase().when(naFaixa, 1L).otherwise(0L)));
+        }
+        query.multiselect(selecoes).where(spec.toPredicate(root, query, cb));
+
+        Tuple totais = entityManager.createQuery(query).getSingleResult();
+        List<FacetaPreco> faixas = new ArrayList<>();
+        for (int i = 0; i < LIMITES_PRECO.length; i++) {
+            Double ate = i + 1 < LIMITES_PRECO.length ? LIMITES_PRECO[i + 1] : null;
+            Number soma = (Number) totais.get(i);
+            faixas.add(new FacetaPreco(LIMITES_PRECO[i], ate, soma == null ? 0 : soma.longValue()));
+        }
+        return faixas;
+    }
+
+    private List<FacetaVendedor> contarVendedores(Specification<Anuncio> spec, int maxVendedores) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Anuncio> root = query.from(Anuncio.class);
+        Join<Anuncio, Usuario> usuario = root.join("usuario", JoinType.LEFT);
+        Expression<Long> quantidade = cb.count(root);
+
+        query.multiselect(usuario.get("id"), usuario.get("nome"), quantidade)
+                .where(spec.toPredicate(root, query, cb))
+                .groupBy(usuario.get("id"), usuario.get("nome"))
+                .orderBy(cb.desc(quantidade), cb.asc(usuario.get("id")));
+
+        List<FacetaVendedor> vendedores = new ArrayList<>();
+        for (Tuple linha : entityManager.createQuery(query).setMaxResults(maxVendedores).getResultList()) {
+            vendedores.add(new FacetaVendedor(linha.get(0, Long.class), linha.get(1, String.class), linha.get(2, Long.class)));
+        }
+        return vendedores;
+    }
+}
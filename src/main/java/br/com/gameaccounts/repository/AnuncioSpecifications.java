@@ -0,0 +1,63 @@
+package br.com.gameaccounts.repository;
+
+import br.com.gameaccounts.busca.IndiceTexto;
+import br.com.gameaccounts.model.Anuncio;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+public final class AnuncioSpecifications {
+    private static final char ESCAPE = '\\';
+    private static final String COM_ACENTO = "áàâãäåéèêëíìîïóòôõöúùûüçñýÿ";
+    private static final String SEM_ACENTO = "aaaaaaeeeeiiiiooooouuuucnyy";
+
+    private AnuncioSpecifications() {}
+
+    public static Specification<Anuncio> precoMinimo(Double precoMin) {
+        return (root, query, cb) -> precoMin == null ? null : cb.greaterThanOrEqualTo(root.get("preco"), precoMin);
+    }
+
+    public static Specification<Anuncio> precoMaximo(Double precoMax) {
+        return (root, query, cb) -> precoMax == null ? null : cb.lessThanOrEqualTo(root.get("preco"), precoMax);
+    }
+
+    public static Specification<Anuncio> doUsuario(Long usuarioId) {
+        return (root, query, cb) -> usuarioId == null ? null : cb.equal(root.get("usuario").get("id"), usuarioId);
+    }
+
+    public static Specification<Anuncio> doJogo(Long jogoId) {
+        return (root, query, cb) -> jogoId == null ? null : cb.equal(root.get("jogo").get("id"), jogoId);
+    }
+
+    /**
+     * Mesmo critério do {@link IndiceTexto}: texto e consulta em minúsculas e sem acentos, e
+     * {@code %}/{@code _} da consulta tratados como caracteres comuns. No banco os acentos
+     * saem por {@code replace} encadeado sobre as letras acentuadas do latim.
+     */
+    public static Specification<Anuncio> descricaoContem(String descricao) {
+        return (root, query, cb) -> {
+            if (descricao == null || descricao.isBlank()) {
+                return null;
+            }
+            Expression<String> texto = cb.lower(root.get("descricao"));
+            for (int i = 0; i < COM_ACENTO.length(); i++) {
+                texto = cb.function("replace", String.class, texto,
+                        cb.literal(COM_ACENTO.substring(i, i + 1)), cb.literal(SEM_ACENTO.substring(i, i + 1)));
+            }
+            return cb.like(texto, "%" + escaparLike(IndiceTexto.normalizar(descricao)) + "%", ESCAPE);
+        };
+    }
+
+    public static Specification<Anuncio> idEm(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Anuncio> naoVendido() {
+        return (root, query, cb) -> cb.isFalse(root.get("vendido"));
+    }
+
+    private static String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,8 +1,90 @@
 package br.com.gameaccounts.repository;
 
+import br.com.gameaccounts.dto.CredenciaisConta;
+import br.com.gameaccounts.dto.VersaoColecao;
+import br.com.gameaccounts.dto.VersaoRecurso;
 import br.com.gameaccounts.model.ContaJogo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ContaJogoRepository extends JpaRepository<ContaJogo, Long>, JpaSpecificationExecutor<ContaJogo> {
-} 
\ No newline at end of file
+    @Override
+    @EntityGraph("ContaJogo.detalhes")
+    List<ContaJogo> findAll();
+
+    @Override
+    @EntityGraph("ContaJogo.detalhes")
+    Page<ContaJogo> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("ContaJogo.detalhes")
+    Page<ContaJogo> findAll(Specification<ContaJogo> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("ContaJogo.detalhes")
+    Optional<ContaJogo> findById(Long id);
+
+    @Query("select new br.com.gameaccounts.dto.VersaoRecurso(c.versao, u.versao, j.versao, c.atualizadoEm, u.atualizadoEm, j.atualizadoEm) " +
+            "from ContaJogo c left join c.usuario u left join c.jogo j where c.id = :id")
+    Optional<VersaoRecurso> findVersaoById(@Param("id") Long id);
+
+    @Query("select new br.com.gameaccounts.dto.CredenciaisConta(c.id, c.login, c.senha) from ContaJogo c " +
+            "where c.id = :id and c.usuario.id = :usuarioId")
+    Optional<CredenciaisConta> findCredenciais(@Param("id") Long id, @Param("usuarioId") Long usuarioId);
+
+    @Query("select new br.com.gameaccounts.dto.VersaoColecao(count(c), coalesce(sum(c.versao), 0), max(c.atualizadoEm)) " +
+            "from ContaJogo c")
+    VersaoColecao findVersaoColecao();
+
+    @Override
+    @EntityGraph("ContaJogo.detalhes")
+    List<ContaJogo> findAllById(Iterable<Long> ids);
+
+    /** Varredura de faixa em {@code idx_conta_jogo_jogo}, já na ordem de id. */
+    @EntityGraph("ContaJogo.detalhes")
+    Page<ContaJogo> findByJogoId(Long jogoId, Pageable pageable);
+
+    /** Varredura de faixa em {@code idx_conta_jogo_usuario}, já na ordem de id. */
+    @EntityGraph("ContaJogo.detalhes")
+    Page<ContaJogo> findByUsuarioId(Long usuarioId, Pageable pageable);
+
+    @EntityGraph("ContaJogo.detalhes")
+    Window<ContaJogo> findAllBy(ScrollPosition posicao, Sort sort, Limit limite);
+
+    @EntityGraph("ContaJogo.detalhes")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ContaJogo> streamAllBy();
+
+    @Modifying
+    @Query("update ContaJogo c set c.excluido = true where c.id = :id and c.excluido = false")
+    int excluir(@Param("id") Long id);
+
+    @Modifying
+    @Query("update ContaJogo c set c.excluido = true where c.usuario.id = :usuarioId and c.excluido = false")
+    int excluirPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("update ContaJogo c set c.excluido = true where c.jogo.id = :jogoId and c.excluido = false")
+    int excluirPorJogo(@Param("jogoId") Long jogoId);
+}
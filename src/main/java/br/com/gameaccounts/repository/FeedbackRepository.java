@@ -1,7 +1,10 @@
 package br.com.gameaccounts.repository;
 
 import br.com.gameaccounts.model.Feedback;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-} 
\ No newline at end of file
+    Page<Feedback> findByUsuarioId(Long usuarioId, Pageable pageable);
+}
@@ -1,7 +1,17 @@
 package br.com.gameaccounts.repository;
 
+import br.com.gameaccounts.dto.MensagemResumo;
 import br.com.gameaccounts.model.Mensagem;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface MensagemRepository extends JpaRepository<Mensagem, Long> {
-} 
\ No newline at end of file
+    /** Um sentido da conversa, do mais recente para o mais antigo, percorrendo o índice (remetente, destinatario, id). */
+    @Query("select new br.com.gameaccounts.dto.MensagemResumo(m.id, m.texto, m.remetente.id, m.destinatario.id, m.enviadaEm) "
+            + "from Mensagem m where m.remetente.id = :remetenteId and m.destinatario.id = :destinatarioId and m.id < :antesDe "
+            + "order by m.id desc")
+    List<MensagemResumo> findConversa(Long remetenteId, Long destinatarioId, long antesDe, Limit limite);
+}
@@ -0,0 +1,18 @@
+package br.com.gameaccounts.repository;
+
+import br.com.gameaccounts.model.ReputacaoVendedor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ReputacaoVendedorRepository extends JpaRepository<ReputacaoVendedor, Long> {
+    @Modifying
+    @Query("update ReputacaoVendedor r set r.quantidade = r.quantidade + 1, r.soma = r.soma + :nota, "
+            + "r.nota1 = r.nota1 + case when :nota = 1 then 1 else 0 end, "
+            + "r.nota2 = r.nota2 + case when :nota = 2 then 1 else 0 end, "
+            + "r.nota3 = r.nota3 + case when :nota = 3 then 1 else 0 end, "
+            + "r.nota4 = r.nota4 + case when :nota = 4 then 1 else 0 end, "
+            + "r.nota5 = r.nota5 + case when :nota = 5 then 1 else 0 end "
+            + "where r.usuarioId = :usuarioId")
+    int incrementar(Long usuarioId, int nota);
+}
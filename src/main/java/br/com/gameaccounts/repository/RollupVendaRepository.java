@@ -0,0 +1,43 @@
+package br.com.gameaccounts.repository;
+
+import br.com.gameaccounts.dto.PontoVenda;
+import br.com.gameaccounts.model.Granularidade;
+import br.com.gameaccounts.model.RollupVenda;
+import br.com.gameaccounts.model.RollupVendaId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RollupVendaRepository extends JpaRepository<RollupVenda, RollupVendaId> {
+    // Upsert num só comando: o Hibernate o traduz para MERGE no H2 e ON DUPLICATE KEY UPDATE no MySQL
+    @Modifying
+    @Query("insert into RollupVenda (id.granularidade, id.inicio, id.jogoId, id.vendedorId, quantidade, receita) "
+            + "values (:granularidade, :inicio, :jogoId, :vendedorId, :quantidade, :receita) "
+            + "on conflict(id) do update set quantidade = quantidade + excluded.quantidade, receita = receita + excluded.receita")
+    int acumular(Granularidade granularidade, LocalDateTime inicio, Long jogoId, Long vendedorId, long quantidade, double receita);
+
+    @Modifying
+    @Query("delete from RollupVenda r where r.id.inicio >= :de and r.id.inicio < :ate")
+    int apagarPeriodo(LocalDateTime de, LocalDateTime ate);
+
+    @Query("select new br.com.gameaccounts.dto.PontoVenda(r.id.inicio, sum(r.quantidade), sum(r.receita)) from RollupVenda r "
+            + "where r.id.granularidade = :granularidade and r.id.inicio >= :de and r.id.inicio < :ate "
+            + "and (:jogoId is null or r.id.jogoId = :jogoId) and (:vendedorId is null or r.id.vendedorId = :vendedorId) "
+            + "group by r.id.inicio order by r.id.inicio")
+    List<PontoVenda> somarTotal(Granularidade granularidade, LocalDateTime de, LocalDateTime ate, Long jogoId, Long vendedorId);
+
+    @Query("select new br.com.gameaccounts.dto.PontoVenda(r.id.inicio, r.id.jogoId, sum(r.quantidade), sum(r.receita)) from RollupVenda r "
+            + "where r.id.granularidade = :granularidade and r.id.inicio >= :de and r.id.inicio < :ate "
+            + "and (:jogoId is null or r.id.jogoId = :jogoId) and (:vendedorId is null or r.id.vendedorId = :vendedorId) "
+            + "group by r.id.inicio, r.id.jogoId order by r.id.inicio, r.id.jogoId")
+    List<PontoVenda> somarPorJogo(Granularidade granularidade, LocalDateTime de, LocalDateTime ate, Long jogoId, Long vendedorId);
+
+    @Query("select new br.com.gameaccounts.dto.PontoVenda(r.id.inicio, r.id.vendedorId, sum(r.quantidade), sum(r.receita)) from RollupVenda r "
+            + "where r.id.granularidade = :granularidade and r.id.inicio >= :de and r.id.inicio < :ate "
+            + "and (:jogoId is null or r.id.jogoId = :jogoId) and (:vendedorId is null or r.id.vendedorId = :vendedorId) "
+            + "group by r.id.inicio, r.id.vendedorId order by r.id.inicio, r.id.vendedorId")
+    List<PontoVenda> somarPorVendedor(Granularidade granularidade, LocalDateTime de, LocalDateTime ate, Long jogoId, Long vendedorId);
+}
@@ -1,8 +1,80 @@
 package br.com.gameaccounts.repository;
 
+import br.com.gameaccounts.dto.TransacaoResumo;
+import br.com.gameaccounts.dto.VendaBruta;
 import br.com.gameaccounts.model.Transacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransacaoRepository extends JpaRepository<Transacao, Long>, JpaSpecificationExecutor<Transacao> {
-} 
\ No newline at end of file
+    @Override
+    @EntityGraph("Transacao.detalhes")
+    List<Transacao> findAll();
+
+    @Override
+    @EntityGraph("Transacao.detalhes")
+    Page<Transacao> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph("Transacao.detalhes")
+    Page<Transacao> findAll(Specification<Transacao> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph("Transacao.detalhes")
+    Optional<Transacao> findById(Long id);
+
+    @Override
+    @EntityGraph("Transacao.detalhes")
+    List<Transacao> findAllById(Iterable<Long> ids);
+
+    @Query(value = "select new br.com.gameaccounts.dto.TransacaoResumo(t.id, t.data, t.valor, a.id, a.descricao, a.preco, u.id, u.nome, j.id, j.nome) "
+            + "from Transacao t left join t.anuncio a left join a.usuario u left join a.jogo j")
+    List<TransacaoResumo> findResumos();
+
+    @Query(value = "select new br.com.gameaccounts.dto.TransacaoResumo(t.id, t.data, t.valor, a.id, a.descricao, a.preco, u.id, u.nome, j.id, j.nome) "
+            + "from Transacao t left join t.anuncio a left join a.usuario u left join a.jogo j",
+            countQuery = "select count(t) from Transacao t")
+    Page<TransacaoResumo> findResumos(Pageable pageable);
+
+    @Query("select new br.com.gameaccounts.dto.VendaBruta(t.data, t.valor, j.id, u.id) "
+            + "from Transacao t left join t.anuncio a left join a.jogo j left join a.usuario u "
+            + "where t.data >= :de and t.data < :ate")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<VendaBruta> streamVendas(LocalDateTime de, LocalDateTime ate);
+
+    @Query("select min(t.data) from Transacao t")
+    Optional<LocalDateTime> findPrimeiraData();
+
+    @Query("select max(t.data) from Transacao t")
+    Optional<LocalDateTime> findUltimaData();
+
+    @Query("select coalesce(sum(t.valor), 0) from Transacao t")
+    double somarValores();
+
+    @EntityGraph("Transacao.detalhes")
+    Window<Transacao> findAllBy(ScrollPosition posicao, Sort sort, Limit limite);
+
+    @EntityGraph("Transacao.detalhes")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Transacao> streamAllBy();
+}
@@ -1,12 +1,72 @@
 package br.com.gameaccounts.repository;
 
+import br.com.gameaccounts.busca.TextoIndexado;
+import br.com.gameaccounts.dto.UsuarioResumo;
+import br.com.gameaccounts.dto.VersaoColecao;
+import br.com.gameaccounts.dto.VersaoRecurso;
 import br.com.gameaccounts.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpecificationExecutor<Usuario> {
-    Page<Usuario> findByNomeContainingIgnoreCase(String nome, Pageable pageable);
-    Page<Usuario> findByEmailContainingIgnoreCase(String email, Pageable pageable);
+    @Query("select new br.com.gameaccounts.dto.UsuarioResumo(u.id, u.nome, u.email) from Usuario u")
+    List<UsuarioResumo> findResumos();
+
+    @Query(value = "select new br.com.gameaccounts.dto.UsuarioResumo(u.id, u.nome, u.email) from Usuario u",
+            countQuery = "select count(u) from Usuario u")
+    Page<UsuarioResumo> findResumos(Pageable pageable);
+
+    Optional<Usuario> findFirstByEmail(String email);
+
+    @Query("select new br.com.gameaccounts.dto.VersaoRecurso(u.versao, u.atualizadoEm) from Usuario u where u.id = :id")
+    Optional<VersaoRecurso> findVersaoById(@Param("id") Long id);
+
+    @Query("select new br.com.gameaccounts.dto.VersaoColecao(count(u), coalesce(sum(u.versao), 0), max(u.atualizadoEm)) " +
+            "from Usuario u")
+    VersaoColecao findVersaoColecao();
+
+    @Transactional
+    @Modifying
+    @Query("update Usuario u set u.senha = :novo where u.id = :id and u.senha = :atual")
+    int atualizarSenha(@Param("id") Long id, @Param("atual") String atual, @Param("novo") String novo);
+
+    long countByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("update Usuario u set u.excluido = true where u.id = :id and u.excluido = false")
+    int excluir(@Param("id") Long id);
+
+    Window<Usuario> findAllBy(ScrollPosition posicao, Sort sort, Limit limite);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Usuario> streamAllBy();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new br.com.gameaccounts.busca.TextoIndexado(u.id, u.nome) from Usuario u")
+    Stream<TextoIndexado> streamNomes();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new br.com.gameaccounts.busca.TextoIndexado(u.id, u.email) from Usuario u")
+    Stream<TextoIndexado> streamEmails();
 }
@@ -0,0 +1,121 @@
+package br.com.gameaccounts.resumo;
+
+import br.com.gameaccounts.dto.PontoVenda;
+import br.com.gameaccounts.dto.ResumoDashboard;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores em memória do resumo do dashboard, alimentados pelos caminhos de escrita dos
+ * serviços. Os {@link LongAdder} espalham as escritas concorrentes em células separadas, e
+ * a leitura é só somar as células. Dentro de uma transação a contagem fica registrada num
+ * {@code afterCommit} e some com um rollback; fora dela entra na hora, então quem chama
+ * sem transação deve fazê-lo depois que a escrita já foi gravada. Escritas que não passam
+ * pelos serviços (carga de dados, outros nós) aparecem na reconciliação periódica.
+ */
+@Component
+public class ContadoresResumo {
+    public enum Entidade { USUARIOS, ANUNCIOS, JOGOS, CONTAS, TRANSACOES }
+
+    private final Map<Entidade, LongAdder> quantidades = new EnumMap<>(Entidade.class);
+    private final DoubleAdder volumeVendas = new DoubleAdder();
+    private final JanelaVendas janela = new JanelaVendas();
+    private volatile LocalDateTime reconciliadoEm;
+
+    public ContadoresResumo() {
+        for (Entidade entidade : Entidade.values()) {
+            quantidades.put(entidade, new LongAdder());
+        }
+    }
+
+    public void somar(Entidade entidade, long quantidade) {
+        aposCommit(() -> quantidades.get(entidade).add(quantidade));
+    }
+
+    /** Venda criada ({@code sinal} 1) ou removida (-1); não mexe na contagem de transações. */
+    public void registrarVenda(LocalDateTime data, double valor, int sinal) {
+        aposCommit(() -> {
+            volumeVendas.add(sinal * valor);
+            if (data != null) {
+                janela.registrar(data, sinal, sinal * valor, LocalDateTime.now());
+            }
+        });
+    }
+
+    public long quantidade(Entidade entidade) {
+        return quantidades.get(entidade).sum();
+    }
+
+    public double volumeVendas() {
+        return volumeVendas.sum();
+    }
+
+    /**
+     * Corrige o contador pela diferença entre o banco e o valor lido antes da consulta, e
+     * não sobrescrevendo: o que foi somado enquanto a consulta rodava não se perde, no
+     * máximo fica contado em dobro até a próxima reconciliação.
+     */
+    public void reconciliar(Entidade entidade, long antes, long noBanco) {
+        quantidades.get(entidade).add(noBanco - antes);
+    }
+
+    public void reconciliarVolume(double antes, double noBanco) {
+        volumeVendas.add(noBanco - antes);
+    }
+
+    /** Refaz a janela recente a partir dos rollups por hora das últimas {@link JanelaVendas#HORAS} horas. */
+    public void reconciliarJanela(List<PontoVenda> horas, LocalDateTime agora) {
+        Map<LocalDateTime, PontoVenda> porHora = new HashMap<>();
+        for (PontoVenda ponto : horas) {
+            porHora.put(ponto.inicio(), ponto);
+        }
+        LocalDateTime hora = agora.truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < JanelaVendas.HORAS; i++, hora = hora.minusHours(1)) {
+            PontoVenda ponto = porHora.get(hora);
+            janela.definir(hora, ponto != null ? ponto.quantidade() : 0, ponto != null ? ponto.receita() : 0);
+        }
+        reconciliadoEm = agora;
+    }
+
+    public static LocalDateTime inicioJanela(LocalDateTime agora) {
+        return agora.truncatedTo(ChronoUnit.HOURS).minusHours(JanelaVendas.HORAS - 1);
+    }
+
+    public ResumoDashboard resumo() {
+        LocalDateTime agora = LocalDateTime.now();
+        return new ResumoDashboard(
+                quantidade(Entidade.USUARIOS),
+                quantidade(Entidade.ANUNCIOS),
+                quantidade(Entidade.JOGOS),
+                quantidade(Entidade.CONTAS),
+                quantidade(Entidade.TRANSACOES),
+                volumeVendas(),
+                janela.quantidade(agora),
+                janela.volume(agora),
+                reconciliadoEm
+        );
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.gameaccounts.resumo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vendas das últimas {@link #HORAS} horas em baldes circulares de uma hora. Cada balde
+ * guarda a hora a que pertence; a primeira venda de uma hora nova recicla o balde mais
+ * antigo. Uma venda que chegue exatamente durante essa troca pode se perder, e a
+ * reconciliação seguinte a recupera.
+ */
+final class JanelaVendas {
+    static final int HORAS = 24;
+
+    private final AtomicLongArray horas = new AtomicLongArray(HORAS);
+    private final LongAdder[] quantidades = new LongAdder[HORAS];
+    private final DoubleAdder[] volumes = new DoubleAdder[HORAS];
+
+    JanelaVendas() {
+        for (int i = 0; i < HORAS; i++) {
+            horas.set(i, Long.MIN_VALUE);
+            quantidades[i] = new LongAdder();
+            volumes[i] = new DoubleAdder();
+        }
+    }
+
+    void registrar(LocalDateTime data, long quantidade, double volume, LocalDateTime agora) {
+        long hora = hora(data);
+        long atual = hora(agora);
+        if (hora > atual || hora <= atual - HORAS) {
+            return;
+        }
+        int balde = (int) Math.floorMod(hora, (long) HORAS);
+        long dono = horas.get(balde);
+        if (dono < hora && horas.compareAndSet(balde, dono, hora)) {
+            quantidades[balde].reset();
+            volumes[balde].reset();
+        } else if (dono > hora) {
+            return;
+        }
+        quantidades[balde].add(quantidade);
+        volumes[balde].add(volume);
+    }
+
+    /** Substitui o balde da hora de {@code inicio} pelos valores vindos do banco. */
+    void definir(LocalDateTime inicio, long quantidade, double volume) {
+        long hora = hora(inicio);
+        int balde = (int) Math.floorMod(hora, (long) HORAS);
+        horas.set(balde, hora);
+        quantidades[balde].reset();
+        quantidades[balde].add(quantidade);
+        volumes[balde].reset();
+        volumes[balde].add(volume);
+    }
+
+    long quantidade(LocalDateTime agora) {
+        long atual = hora(agora);
+        long total = 0;
+        for (int i = 0; i < HORAS; i++) {
+            if (horas.get(i) > atual - HORAS) {
+                total += quantidades[i].sum();
+            }
+        }
+        return total;
+    }
+
+    double volume(LocalDateTime agora) {
+        long atual = hora(agora);
+        double total = 0;
+        for (int i = 0; i < HORAS; i++) {
+            if (horas.get(i) > atual - HORAS) {
+                total += volumes[i].sum();
+            }
+        }
+        return total;
+    }
+
+    private static long hora(LocalDateTime data) {
+        return data.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+}
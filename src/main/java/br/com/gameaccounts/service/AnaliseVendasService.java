@@ -0,0 +1,151 @@
+package br.com.gameaccounts.service;
+
+import br.com.gameaccounts.dto.PontoVenda;
+import br.com.gameaccounts.dto.ResultadoReprocessamento;
+import br.com.gameaccounts.dto.VendaBruta;
+import br.com.gameaccounts.model.Granularidade;
+import br.com.gameaccounts.model.RollupVenda;
+import br.com.gameaccounts.model.RollupVendaId;
+import br.com.gameaccounts.repository.RollupVendaRepository;
+import br.com.gameaccounts.repository.TransacaoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+@Service
+public class AnaliseVendasService {
+    private static final int TAMANHO_LOTE = 500;
+
+    @Autowired
+    private RollupVendaRepository repository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int threads;
+
+    public AnaliseVendasService(@Value("${marketplace.analise.threads:0}") int threads) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public List<PontoVenda> consultar(Granularidade granularidade, LocalDateTime de, LocalDateTime ate,
+                                      Long jogoId, Long vendedorId, String agrupar) {
+        return switch (agrupar) {
+            case "total" -> repository.somarTotal(granularidade, de, ate, jogoId, vendedorId);
+            case "jogo" -> repository.somarPorJogo(granularidade, de, ate, jogoId, vendedorId);
+            case "vendedor" -> repository.somarPorVendedor(granularidade, de, ate, jogoId, vendedorId);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "agrupar deve ser total, jogo ou vendedor");
+        };
+    }
+
+    /**
+     * Soma (ou, com {@code sinal} -1, subtrai) uma venda nos baldes de hora e dia. Deve rodar
+     * na mesma transação que grava a {@code Transacao}, para que rollup e tabela nunca divirjam.
+     */
+    public void registrar(LocalDateTime data, double valor, Long jogoId, Long vendedorId, int sinal) {
+        for (Granularidade granularidade : Granularidade.values()) {
+            RollupVendaId id = new RollupVendaId(granularidade, granularidade.truncar(data), chave(jogoId), chave(vendedorId));
+            // A primeira venda do balde cria a linha no mesmo comando, sem segunda transação nem conexão
+            acumular(id, sinal, sinal * valor);
+        }
+    }
+
+    /**
+     * Reconstrói os rollups de {@code de} (inclusive) a {@code ate} (exclusive) a partir das
+     * transações, processando cada dia em paralelo na sua própria transação. Vendas
+     * registradas durante o reprocessamento de um dia podem ser perdidas por ele; rode em
+     * janela de manutenção ou sobre períodos fechados.
+     */
+    public ResultadoReprocessamento reprocessar(LocalDate de, LocalDate ate) {
+        if (de == null) {
+            de = transacaoRepository.findPrimeiraData().map(LocalDateTime::toLocalDate).orElse(LocalDate.now());
+        }
+        if (ate == null) {
+            LocalDate ultimoDia = transacaoRepository.findUltimaData().map(d -> d.toLocalDate().plusDays(1)).orElse(de);
+            ate = ultimoDia.isBefore(de) ? de : ultimoDia;
+        } else if (ate.isBefore(de)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ate não pode ser anterior a de");
+        }
+        long inicio = System.currentTimeMillis();
+        List<LocalDate> dias = de.datesUntil(ate).toList();
+        long transacoes = 0;
+        long baldes = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<long[]>> tarefas = new ArrayList<>(dias.size());
+            for (LocalDate dia : dias) {
+                tarefas.add(executor.submit(() -> transactionTemplate.execute(status -> reprocessarDia(dia))));
+            }
+            for (Future<long[]> tarefa : tarefas) {
+                long[] contagem = tarefa.get();
+                transacoes += contagem[0];
+                baldes += contagem[1];
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reprocessamento interrompido", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha no reprocessamento dos rollups de venda", e.getCause());
+        }
+        return new ResultadoReprocessamento(de, ate, dias.size(), transacoes, baldes, System.currentTimeMillis() - inicio);
+    }
+
+    private long[] reprocessarDia(LocalDate dia) {
+        LocalDateTime inicio = dia.atStartOfDay();
+        LocalDateTime fim = inicio.plusDays(1);
+        repository.apagarPeriodo(inicio, fim);
+        Map<RollupVendaId, double[]> baldes = new HashMap<>();
+        long transacoes = 0;
+        try (Stream<VendaBruta> vendas = transacaoRepository.streamVendas(inicio, fim)) {
+            for (VendaBruta venda : (Iterable<VendaBruta>) vendas::iterator) {
+                transacoes++;
+                for (Granularidade granularidade : Granularidade.values()) {
+                    RollupVendaId id = new RollupVendaId(granularidade, granularidade.truncar(venda.data()),
+                            chave(venda.jogoId()), chave(venda.vendedorId()));
+                    double[] soma = baldes.computeIfAbsent(id, k -> new double[2]);
+                    soma[0]++;
+                    soma[1] += venda.valor();
+                }
+            }
+        }
+        int pendentes = 0;
+        for (Map.Entry<RollupVendaId, double[]> balde : baldes.entrySet()) {
+            entityManager.persist(new RollupVenda(balde.getKey(), (long) balde.getValue()[0], balde.getValue()[1]));
+            if (++pendentes % TAMANHO_LOTE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return new long[]{transacoes, baldes.size()};
+    }
+
+    private int acumular(RollupVendaId id, long quantidade, double receita) {
+        return repository.acumular(id.granularidade(), id.inicio(), id.jogoId(), id.vendedorId(), quantidade, receita);
+    }
+
+    private static Long chave(Long id) {
+        return id != null ? id : 0L;
+    }
+}
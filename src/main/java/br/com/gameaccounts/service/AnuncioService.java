@@ -1,30 +1,168 @@
 package br.com.gameaccounts.service;
 
+import br.com.gameaccounts.busca.FiltroAnuncio;
+import br.com.gameaccounts.busca.IndiceTexto;
+import br.com.gameaccounts.busca.ResultadoBuscaAnuncio;
+import br.com.gameaccounts.busca.TextoIndexado;
+import br.com.gameaccounts.config.CacheConfig;
+import br.com.gameaccounts.dto.AnuncioResumo;
+import br.com.gameaccounts.dto.Reputacao;
+import br.com.gameaccounts.dto.ResultadoExclusao;
+import br.com.gameaccounts.dto.VersaoRecurso;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.http.RespostaCondicional;
+import br.com.gameaccounts.lote.ProcessadorLote;
+import br.com.gameaccounts.lote.ResultadoLote;
 import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.Jogo;
+import br.com.gameaccounts.model.Pagamento;
+import br.com.gameaccounts.model.Transacao;
+import br.com.gameaccounts.model.Usuario;
 import br.com.gameaccounts.repository.AnuncioRepository;
+import br.com.gameaccounts.repository.AnuncioSpecifications;
+import br.com.gameaccounts.repository.PagamentoRepository;
+import br.com.gameaccounts.repository.TransacaoRepository;
+import br.com.gameaccounts.resumo.ContadoresResumo;
+import br.com.gameaccounts.resumo.ContadoresResumo.Entidade;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 @Service
 public class AnuncioService {
+    private static final int MAX_IDS_DESCRICAO = 1000;
+    private static final int MAX_IDS_EXCLUSAO = 10_000;
+    private static final int BLOCO_EXCLUSAO = 1000;
+    private static final int MAX_FACETAS_VENDEDOR = 10;
+    private static final Set<String> METODOS_PAGAMENTO = Set.of("CARTAO", "PIX", "BOLETO");
+    // Vendido só muda pela compra
+    private static final Map<String, Class<?>> CAMPOS_PATCH = Map.of(
+            "descricao", String.class, "preco", double.class, "usuario", Usuario.class, "jogo", Jogo.class);
+    private static final String ANUNCIO_VENDIDO = "Anúncio vendido não pode ser alterado";
+    private static final String COM_VENDAS = "Há anúncios vendidos que apontam para este registro; ele não pode ser excluído";
+
     @Autowired
     private AnuncioRepository repository;
 
-    public List<Anuncio> listarAnuncios() {
-        return repository.findAll();
+    @Autowired
+    private ExportadorNdjson exportador;
+
+    @Autowired
+    private ProcessadorLote processadorLote;
+
+    @Autowired
+    private ReputacaoService reputacaoService;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private AnaliseVendasService analiseVendasService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ContadoresResumo contadores;
+
+    @Autowired
+    private AtualizacaoParcial atualizacaoParcial;
+
+    private final IndiceTexto indiceDescricao = new IndiceTexto();
+    private final Set<Long> emCompra = ConcurrentHashMap.newKeySet();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reindexar() {
+        indiceDescricao.limpar();
+        try (Stream<TextoIndexado> descricoes = repository.streamDescricoes()) {
+            descricoes.forEach(d -> indiceDescricao.indexar(d.id(), d.texto()));
+        }
+    }
+
+    public List<AnuncioResumo> listarAnuncios() {
+        return comReputacao(repository.findResumos());
     }
     
-    public Page<Anuncio> listarAnunciosPaginados(Pageable pageable) {
-        return repository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public long exportarAnuncios(OutputStream saida) throws IOException {
+        try (Stream<Anuncio> anuncios = repository.streamAllBy()) {
+            return exportador.exportar(anuncios, saida);
+        }
+    }
+    
+    public Page<AnuncioResumo> listarAnunciosPaginados(Pageable pageable) {
+        Page<AnuncioResumo> pagina = repository.findResumos(pageable);
+        return new PageImpl<>(comReputacao(pagina.getContent()), pageable, pagina.getTotalElements());
+    }
+    
+    /** Mesmo formato da paginação por número de página: resumos com a reputação do vendedor. */
+    public Window<AnuncioResumo> listarAnunciosPorCursor(ScrollPosition posicao, Sort sort, int tamanho) {
+        Window<Anuncio> janela = repository.findAllBy(posicao, sort, Limit.of(tamanho));
+        Map<Long, AnuncioResumo> resumos = new HashMap<>();
+        for (AnuncioResumo resumo : comReputacao(janela.getContent().stream().map(AnuncioResumo::de).toList())) {
+            resumos.put(resumo.id(), resumo);
+        }
+        return janela.map(anuncio -> resumos.get(anuncio.getId()));
     }
     
     public Page<Anuncio> buscarPorDescricao(String descricao, Pageable pageable) {
-        return repository.findByDescricaoContainingIgnoreCase(descricao, pageable);
+        return indiceDescricao.buscar(descricao, pageable, repository::findAllById, Anuncio::getId);
+    }
+    
+    public ResultadoBuscaAnuncio buscar(FiltroAnuncio filtro, Pageable pageable) {
+        Specification<Anuncio> spec = Specification.where(AnuncioSpecifications.precoMinimo(filtro.precoMin()))
+                .and(AnuncioSpecifications.precoMaximo(filtro.precoMax()))
+                .and(AnuncioSpecifications.doUsuario(filtro.usuarioId()))
+                .and(AnuncioSpecifications.doJogo(filtro.jogoId()));
+        if (filtro.descricao() != null && !filtro.descricao().isBlank()) {
+            // Consultas seletivas usam os ids do índice; as muito amplas, um LIKE com a mesma normalização, já
+            // restrito pelos demais filtros
+            List<Long> ids = indiceDescricao.buscar(filtro.descricao());
+            spec = spec.and(ids.size() <= MAX_IDS_DESCRICAO
+                    ? AnuncioSpecifications.idEm(ids)
+                    : AnuncioSpecifications.descricaoContem(filtro.descricao()));
+        }
+        Page<Anuncio> anuncios = repository.findAll(spec, pageable);
+        List<AnuncioResumo> resumos = comReputacao(anuncios.getContent().stream().map(AnuncioResumo::de).toList());
+        return new ResultadoBuscaAnuncio(new PageImpl<>(resumos, pageable, anuncios.getTotalElements()),
+                repository.calcularFacetas(spec, MAX_FACETAS_VENDEDOR));
     }
     
     public Page<Anuncio> buscarPorPrecoMaximo(Double precoMaximo, Pageable pageable) {
@@ -35,23 +173,186 @@ public class AnuncioService {
         return repository.findByPrecoGreaterThanEqual(precoMinimo, pageable);
     }
 
+    @Cacheable(value = CacheConfig.ANUNCIOS, unless = "#result == null")
     public Optional<Anuncio> buscarPorId(Long id) {
         return repository.findById(id);
     }
 
+    public Optional<VersaoRecurso> buscarVersao(Long id) {
+        return repository.findVersaoById(id);
+    }
+
     public Anuncio cadastrarAnuncio(Anuncio anuncio) {
-        return repository.save(anuncio);
+        Anuncio salvo = repository.save(anuncio);
+        indiceDescricao.indexarAposCommit(salvo.getId(), salvo.getDescricao());
+        contadores.somar(Entidade.ANUNCIOS, 1);
+        return salvo;
+    }
+    
+    public List<ResultadoLote> cadastrarAnunciosEmLote(Iterator<Anuncio> anuncios) {
+        return processadorLote.processar(anuncios, this::validar, repository, Anuncio::getId,
+                salvo -> {
+                    indiceDescricao.indexarAposCommit(salvo.getId(), salvo.getDescricao());
+                    contadores.somar(Entidade.ANUNCIOS, 1);
+                });
     }
     
-    public Anuncio atualizarAnuncio(Long id, Anuncio anuncio) {
-        if (repository.existsById(id)) {
-            anuncio.setId(id);
-            return repository.save(anuncio);
+    @CacheEvict(value = CacheConfig.ANUNCIOS, key = "#id")
+    @Transactional
+    public Anuncio atualizarAnuncio(Long id, Anuncio anuncio, Long versaoEsperada) {
+        // Atualiza a entidade carregada para preservar versão e estado de venda
+        return repository.findById(id).map(atual -> {
+            RespostaCondicional.conferirVersao(versaoEsperada, atual.getVersao());
+            if (atual.isVendido()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, ANUNCIO_VENDIDO);
+            }
+            atual.atualizar(anuncio);
+            indiceDescricao.indexarAposCommit(id, atual.getDescricao());
+            return atual;
+        }).orElse(null);
+    }
+
+    @CacheEvict(value = CacheConfig.ANUNCIOS, key = "#id")
+    public void atualizarParcialmente(Long id, JsonNode patch, Long versaoEsperada) {
+        Map<String, Object> valores = atualizacaoParcial.aplicar(Anuncio.class, id, versaoEsperada, patch, CAMPOS_PATCH,
+                new AtualizacaoParcial.Bloqueio("vendido", ANUNCIO_VENDIDO));
+        if (valores.containsKey("descricao")) {
+            indiceDescricao.indexarAposCommit(id, (String) valores.get("descricao"));
+        }
+    }
+
+    /**
+     * Vende o anúncio criando pagamento e transação na mesma transação. Uma reserva em
+     * memória deixa só um comprador por nó disputar o anúncio no banco; entre nós, o
+     * {@code @Version} do anúncio faz o UPDATE do concorrente falhar, e a unicidade de
+     * {@code transacao.anuncio_id} segura qualquer caminho que não passe por aqui.
+     */
+    @CacheEvict(value = CacheConfig.ANUNCIOS, key = "#id")
+    public Transacao comprarAnuncio(Long id, String metodo) {
+        if (metodo == null || !METODOS_PAGAMENTO.contains(metodo)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Método de pagamento deve ser um de " + METODOS_PAGAMENTO);
+        }
+        if (!emCompra.add(id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Anúncio está sendo comprado por outro usuário");
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                Anuncio anuncio = repository.findById(id)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Anúncio não encontrado"));
+                if (anuncio.isVendido()) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Anúncio já foi vendido");
+                }
+                anuncio.marcarVendido();
+                Pagamento pagamento = pagamentoRepository.save(new Pagamento(anuncio.getPreco(), metodo));
+                Transacao transacao = transacaoRepository.save(
+                        new Transacao(LocalDateTime.now(), anuncio.getPreco(), anuncio, pagamento));
+                analiseVendasService.registrar(transacao.getData(), transacao.getValor(),
+                        anuncio.getJogo() != null ? anuncio.getJogo().getId() : null,
+                        anuncio.getUsuario() != null ? anuncio.getUsuario().getId() : null, 1);
+                repository.flush();
+                // Só entram no resumo no afterCommit; registrados após o flush, que é onde a venda dupla falha
+                contadores.somar(Entidade.TRANSACOES, 1);
+                contadores.registrarVenda(transacao.getData(), transacao.getValor(), 1);
+                return transacao;
+            });
+        } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Anúncio já foi vendido", e);
+        } finally {
+            emCompra.remove(id);
         }
-        return null;
     }
 
+    /** Anúncio vendido continua referenciado pela transação e não pode ser excluído. */
+    @CacheEvict(value = CacheConfig.ANUNCIOS, key = "#id")
+    @Transactional
     public void deletarAnuncio(Long id) {
-        repository.deleteById(id);
+        if (excluir(List.of(id)) == 0 && repository.existsByIdAndVendidoTrue(id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Anúncio vendido não pode ser excluído");
+        }
+    }
+
+    /** Vendidos, inexistentes e já excluídos ficam de fora, sem falhar os demais. */
+    @CacheEvict(value = CacheConfig.ANUNCIOS, allEntries = true)
+    @Transactional
+    public ResultadoExclusao deletarAnuncios(Collection<Long> ids) {
+        if (ids.size() > MAX_IDS_EXCLUSAO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Máximo de " + MAX_IDS_EXCLUSAO + " ids por exclusão");
+        }
+        return new ResultadoExclusao(ids.size(), excluir(ids));
+    }
+
+    /**
+     * Anúncios vendidos ficam no histórico, com a transação, apontando para o vendedor e o
+     * jogo. Excluir um deles esconderia a linha de que o anúncio depende, então a exclusão
+     * é recusada com 409.
+     */
+    public void conferirSemVendasDoUsuario(Long usuarioId) {
+        if (repository.existsByUsuarioIdAndVendidoTrue(usuarioId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, COM_VENDAS);
+        }
+    }
+
+    public void conferirSemVendasDoJogo(Long jogoId) {
+        if (repository.existsByJogoIdAndVendidoTrue(jogoId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, COM_VENDAS);
+        }
+    }
+
+    /** Usado na exclusão do vendedor: os anúncios ainda à venda saem junto com ele. */
+    @CacheEvict(value = CacheConfig.ANUNCIOS, allEntries = true)
+    @Transactional
+    public int deletarAnunciosDoUsuario(Long usuarioId) {
+        return excluir(repository.findIdsNaoVendidosByUsuarioId(usuarioId));
+    }
+
+    @CacheEvict(value = CacheConfig.ANUNCIOS, allEntries = true)
+    @Transactional
+    public int deletarAnunciosDoJogo(Long jogoId) {
+        return excluir(repository.findIdsNaoVendidosByJogoId(jogoId));
+    }
+
+    /**
+     * Marca os anúncios como excluídos em UPDATEs de até {@link #BLOCO_EXCLUSAO} ids. As
+     * linhas só saem da tabela no {@link br.com.gameaccounts.expurgo.ExpurgoExcluidos}.
+     */
+    private int excluir(Collection<Long> ids) {
+        List<Long> distintos = ids.stream().distinct().toList();
+        int excluidos = 0;
+        for (int i = 0; i < distintos.size(); i += BLOCO_EXCLUSAO) {
+            List<Long> bloco = repository.findIdsNaoVendidos(distintos.subList(i, Math.min(i + BLOCO_EXCLUSAO, distintos.size())));
+            if (bloco.isEmpty()) {
+                continue;
+            }
+            excluidos += repository.excluirNaoVendidos(bloco);
+            bloco.forEach(indiceDescricao::removerAposCommit);
+        }
+        if (excluidos > 0) {
+            contadores.somar(Entidade.ANUNCIOS, -excluidos);
+        }
+        return excluidos;
+    }
+
+    /** Embute a reputação dos vendedores buscando todas de uma vez, não uma por anúncio. */
+    private List<AnuncioResumo> comReputacao(List<AnuncioResumo> anuncios) {
+        Set<Long> vendedores = new HashSet<>();
+        for (AnuncioResumo anuncio : anuncios) {
+            if (anuncio.usuario() != null) {
+                vendedores.add(anuncio.usuario().id());
+            }
+        }
+        Map<Long, Reputacao> reputacoes = reputacaoService.buscar(vendedores);
+        return anuncios.stream()
+                .map(a -> a.usuario() != null ? a.comReputacao(reputacoes.get(a.usuario().id())) : a)
+                .toList();
+    }
+
+    private String validar(Anuncio anuncio) {
+        if (anuncio.getDescricao() == null || anuncio.getDescricao().isBlank()) {
+            return "Descrição é obrigatória";
+        }
+        if (anuncio.getPreco() < 0) {
+            return "Preço não pode ser negativo";
+        }
+        return null;
     }
 }
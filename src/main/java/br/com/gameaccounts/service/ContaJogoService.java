@@ -1,45 +1,160 @@
 package br.com.gameaccounts.service;
 
+import br.com.gameaccounts.dto.CredenciaisConta;
+import br.com.gameaccounts.dto.VersaoColecao;
+import br.com.gameaccounts.dto.VersaoRecurso;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.http.RespostaCondicional;
+import br.com.gameaccounts.lote.ProcessadorLote;
+import br.com.gameaccounts.lote.ResultadoLote;
 import br.com.gameaccounts.model.ContaJogo;
+import br.com.gameaccounts.model.Jogo;
+import br.com.gameaccounts.model.Usuario;
 import br.com.gameaccounts.repository.ContaJogoRepository;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import br.com.gameaccounts.resumo.ContadoresResumo;
+import br.com.gameaccounts.resumo.ContadoresResumo.Entidade;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @Service
 public class ContaJogoService {
+    // A senha passa pelo SenhaContaConverter também no UPDATE parcial
+    private static final Map<String, Class<?>> CAMPOS_PATCH = Map.of(
+            "login", String.class, "senha", String.class, "usuario", Usuario.class, "jogo", Jogo.class);
+
     @Autowired
     private ContaJogoRepository repository;
 
+    @Autowired
+    private ExportadorNdjson exportador;
+
+    @Autowired
+    private ProcessadorLote processadorLote;
+
+    @Autowired
+    private JogoService jogoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private ContadoresResumo contadores;
+
+    @Autowired
+    private AtualizacaoParcial atualizacaoParcial;
+
     public List<ContaJogo> listarContasJogo() {
         return repository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public long exportarContasJogo(OutputStream saida) throws IOException {
+        try (Stream<ContaJogo> contasJogo = repository.streamAllBy()) {
+            return exportador.exportar(contasJogo, saida);
+        }
+    }
+    
     public Page<ContaJogo> listarContasJogoPaginadas(Pageable pageable) {
         return repository.findAll(pageable);
     }
+    
+    public Window<ContaJogo> listarContasJogoPorCursor(ScrollPosition posicao, Sort sort, int tamanho) {
+        return repository.findAllBy(posicao, sort, Limit.of(tamanho));
+    }
+
+    public Page<ContaJogo> listarPorJogo(Long jogoId, Pageable pageable) {
+        return repository.findByJogoId(jogoId, pageable);
+    }
+
+    public Page<ContaJogo> listarPorUsuario(Long usuarioId, Pageable pageable) {
+        return repository.findByUsuarioId(usuarioId, pageable);
+    }
 
     public Optional<ContaJogo> buscarPorId(Long id) {
         return repository.findById(id);
     }
 
+    /**
+     * Login e senha da conta em claro, só para o dono, que se identifica com email e senha
+     * como no login. Conta inexistente ou de outro usuário responde 404 do mesmo jeito.
+     */
+    public CompletableFuture<CredenciaisConta> revelarCredenciais(Long id, String email, String senha) {
+        return usuarioService.autenticar(email, senha).thenApply(dono -> repository.findCredenciais(id, dono.id())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    public Optional<VersaoRecurso> buscarVersao(Long id) {
+        return repository.findVersaoById(id);
+    }
+
+    /** A listagem leva o dono e o jogo de cada conta, então as versões de usuários e jogos entram no ETag. */
+    public VersaoRecurso versaoListagem() {
+        return VersaoRecurso.colecao(repository.findVersaoColecao(), usuarioRepository.findVersaoColecao(),
+                VersaoColecao.deJogos(jogoService.listarJogos()));
+    }
+
     public ContaJogo cadastrarContaJogo(ContaJogo contaJogo) {
-        return repository.save(contaJogo);
+        ContaJogo salva = repository.save(contaJogo);
+        contadores.somar(Entidade.CONTAS, 1);
+        return salva;
     }
     
-    public ContaJogo atualizarContaJogo(Long id, ContaJogo contaJogo) {
-        if (repository.existsById(id)) {
-            contaJogo.setId(id);
-            return repository.save(contaJogo);
-        }
-        return null;
+    public List<ResultadoLote> cadastrarContasJogoEmLote(Iterator<ContaJogo> contas) {
+        return processadorLote.processar(contas, this::validar, repository, ContaJogo::getId,
+                conta -> contadores.somar(Entidade.CONTAS, 1));
+    }
+    
+    @Transactional
+    public ContaJogo atualizarContaJogo(Long id, ContaJogo contaJogo, Long versaoEsperada) {
+        return repository.findById(id).map(atual -> {
+            RespostaCondicional.conferirVersao(versaoEsperada, atual.getVersao());
+            atual.atualizar(contaJogo);
+            return atual;
+        }).orElse(null);
     }
 
+    public void atualizarParcialmente(Long id, JsonNode patch, Long versaoEsperada) {
+        atualizacaoParcial.aplicar(ContaJogo.class, id, versaoEsperada, patch, CAMPOS_PATCH);
+    }
+
+    @Transactional
     public void deletarContaJogo(Long id) {
-        repository.deleteById(id);
+        if (repository.excluir(id) > 0) {
+            contadores.somar(Entidade.CONTAS, -1);
+        }
+    }
+
+    private String validar(ContaJogo contaJogo) {
+        if (contaJogo.getLogin() == null || contaJogo.getLogin().isBlank()) {
+            return "Login é obrigatório";
+        }
+        if (contaJogo.getSenha() == null || contaJogo.getSenha().isBlank()) {
+            return "Senha é obrigatória";
+        }
+        return null;
     }
-} 
\ No newline at end of file
+}
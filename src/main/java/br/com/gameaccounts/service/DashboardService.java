@@ -0,0 +1,75 @@
+package br.com.gameaccounts.service;
+
+import br.com.gameaccounts.dto.ResumoDashboard;
+import br.com.gameaccounts.model.Granularidade;
+import br.com.gameaccounts.repository.AnuncioRepository;
+import br.com.gameaccounts.repository.ContaJogoRepository;
+import br.com.gameaccounts.repository.JogoRepository;
+import br.com.gameaccounts.repository.RollupVendaRepository;
+import br.com.gameaccounts.repository.TransacaoRepository;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import br.com.gameaccounts.resumo.ContadoresResumo;
+import br.com.gameaccounts.resumo.ContadoresResumo.Entidade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * O resumo sai inteiro dos {@link ContadoresResumo}, sem consulta ao banco. A
+ * reconciliação na subida e a cada {@code marketplace.resumo.reconciliacao} recontam as
+ * tabelas e relêem a janela recente dos rollups por hora, corrigindo o que os serviços
+ * não viram.
+ */
+@Service
+public class DashboardService {
+    @Autowired
+    private ContadoresResumo contadores;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private AnuncioRepository anuncioRepository;
+
+    @Autowired
+    private JogoRepository jogoRepository;
+
+    @Autowired
+    private ContaJogoRepository contaJogoRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private RollupVendaRepository rollupVendaRepository;
+
+    public ResumoDashboard resumo() {
+        return contadores.resumo();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${marketplace.resumo.reconciliacao:5m}",
+            fixedDelayString = "${marketplace.resumo.reconciliacao:5m}")
+    public void reconciliar() {
+        reconciliar(Entidade.USUARIOS, usuarioRepository);
+        reconciliar(Entidade.ANUNCIOS, anuncioRepository);
+        reconciliar(Entidade.JOGOS, jogoRepository);
+        reconciliar(Entidade.CONTAS, contaJogoRepository);
+        reconciliar(Entidade.TRANSACOES, transacaoRepository);
+        double volume = contadores.volumeVendas();
+        contadores.reconciliarVolume(volume, transacaoRepository.somarValores());
+        LocalDateTime agora = LocalDateTime.now();
+        contadores.reconciliarJanela(rollupVendaRepository.somarTotal(Granularidade.HORA,
+                ContadoresResumo.inicioJanela(agora), agora.plusHours(1), null, null), agora);
+    }
+
+    private void reconciliar(Entidade entidade, CrudRepository<?, Long> repository) {
+        long antes = contadores.quantidade(entidade);
+        contadores.reconciliar(entidade, antes, repository.count());
+    }
+}
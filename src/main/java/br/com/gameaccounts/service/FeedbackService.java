@@ -0,0 +1,65 @@
+package br.com.gameaccounts.service;
+
+import br.com.gameaccounts.model.Feedback;
+import br.com.gameaccounts.repository.FeedbackRepository;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+
+@Service
+public class FeedbackService {
+    @Autowired
+    private FeedbackRepository repository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ReputacaoService reputacaoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public Page<Feedback> listarPorUsuario(Long usuarioId, Pageable pageable) {
+        return repository.findByUsuarioId(usuarioId, pageable);
+    }
+
+    public Optional<Feedback> buscarPorId(Long id) {
+        return repository.findById(id);
+    }
+
+    public Feedback cadastrarFeedback(Feedback feedback) {
+        if (feedback.getNota() < 1 || feedback.getNota() > 5) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nota deve estar entre 1 e 5");
+        }
+        Long usuarioId = feedback.getUsuario() != null ? feedback.getUsuario().getId() : null;
+        if (usuarioId == null || !usuarioRepository.existsById(usuarioId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Usuário avaliado não encontrado");
+        }
+        Feedback salvo;
+        try {
+            salvo = salvar(feedback, usuarioId);
+        } catch (DataIntegrityViolationException e) {
+            // Dois primeiros feedbacks simultâneos do mesmo vendedor: o agregado já existe, agora é só incrementar
+            salvo = salvar(new Feedback(feedback.getComentario(), feedback.getNota(), feedback.getUsuario()), usuarioId);
+        }
+        reputacaoService.invalidar(usuarioId);
+        return salvo;
+    }
+
+    private Feedback salvar(Feedback feedback, Long usuarioId) {
+        return transactionTemplate.execute(status -> {
+            Feedback salvo = repository.save(feedback);
+            reputacaoService.registrar(usuarioId, feedback.getNota());
+            return salvo;
+        });
+    }
+}
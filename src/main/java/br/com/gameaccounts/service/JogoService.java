@@ -1,45 +1,128 @@
 package br.com.gameaccounts.service;
 
+import br.com.gameaccounts.config.CacheConfig;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.http.RespostaCondicional;
 import br.com.gameaccounts.model.Jogo;
+import br.com.gameaccounts.repository.ContaJogoRepository;
 import br.com.gameaccounts.repository.JogoRepository;
+import br.com.gameaccounts.resumo.ContadoresResumo;
+import br.com.gameaccounts.resumo.ContadoresResumo.Entidade;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class JogoService {
+    private static final Map<String, Class<?>> CAMPOS_PATCH = Map.of("nome", String.class, "plataforma", String.class);
+
     @Autowired
     private JogoRepository repository;
 
+    @Autowired
+    private ExportadorNdjson exportador;
+
+    @Autowired
+    private ContadoresResumo contadores;
+
+    @Autowired
+    private AtualizacaoParcial atualizacaoParcial;
+
+    @Autowired
+    private AnuncioService anuncioService;
+
+    @Autowired
+    private ContaJogoRepository contaJogoRepository;
+
+    @Cacheable(CacheConfig.JOGOS_LISTA)
     public List<Jogo> listarJogos() {
         return repository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public long exportarJogos(OutputStream saida) throws IOException {
+        try (Stream<Jogo> jogos = repository.streamAllBy()) {
+            return exportador.exportar(jogos, saida);
+        }
+    }
+    
     public Page<Jogo> listarJogosPaginados(Pageable pageable) {
         return repository.findAll(pageable);
     }
+    
+    public Window<Jogo> listarJogosPorCursor(ScrollPosition posicao, Sort sort, int tamanho) {
+        return repository.findAllBy(posicao, sort, Limit.of(tamanho));
+    }
 
+    @Cacheable(value = CacheConfig.JOGOS, unless = "#result == null")
     public Optional<Jogo> buscarPorId(Long id) {
         return repository.findById(id);
     }
 
+    @CacheEvict(value = CacheConfig.JOGOS_LISTA, allEntries = true)
     public Jogo cadastrarJogo(Jogo jogo) {
-        return repository.save(jogo);
+        Jogo salvo = repository.save(jogo);
+        contadores.somar(Entidade.JOGOS, 1);
+        return salvo;
     }
     
-    public Jogo atualizarJogo(Long id, Jogo jogo) {
-        if (repository.existsById(id)) {
-            jogo.setId(id);
-            return repository.save(jogo);
-        }
-        return null;
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.JOGOS, key = "#id"),
+            @CacheEvict(value = CacheConfig.JOGOS_LISTA, allEntries = true),
+            @CacheEvict(value = CacheConfig.ANUNCIOS, allEntries = true)
+    })
+    @Transactional
+    public Jogo atualizarJogo(Long id, Jogo jogo, Long versaoEsperada) {
+        return repository.findById(id).map(atual -> {
+            RespostaCondicional.conferirVersao(versaoEsperada, atual.getVersao());
+            atual.atualizar(jogo);
+            return atual;
+        }).orElse(null);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.JOGOS, key = "#id"),
+            @CacheEvict(value = CacheConfig.JOGOS_LISTA, allEntries = true),
+            @CacheEvict(value = CacheConfig.ANUNCIOS, allEntries = true)
+    })
+    public void atualizarParcialmente(Long id, JsonNode patch, Long versaoEsperada) {
+        atualizacaoParcial.aplicar(Jogo.class, id, versaoEsperada, patch, CAMPOS_PATCH);
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.JOGOS, key = "#id"),
+            @CacheEvict(value = CacheConfig.JOGOS_LISTA, allEntries = true),
+            @CacheEvict(value = CacheConfig.ANUNCIOS, allEntries = true)
+    })
+    @Transactional
     public void deletarJogo(Long id) {
-        repository.deleteById(id);
+        anuncioService.conferirSemVendasDoJogo(id);
+        if (repository.excluir(id) == 0) {
+            return;
+        }
+        contadores.somar(Entidade.JOGOS, -1);
+        anuncioService.deletarAnunciosDoJogo(id);
+        int contas = contaJogoRepository.excluirPorJogo(id);
+        if (contas > 0) {
+            contadores.somar(Entidade.CONTAS, -contas);
+        }
     }
 } 
\ No newline at end of file
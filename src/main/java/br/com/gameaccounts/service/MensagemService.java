@@ -0,0 +1,65 @@
+package br.com.gameaccounts.service;
+
+import br.com.gameaccounts.dto.MensagemResumo;
+import br.com.gameaccounts.dto.NovaMensagem;
+import br.com.gameaccounts.mensagens.HubMensagens;
+import br.com.gameaccounts.mensagens.PersistidorMensagens;
+import br.com.gameaccounts.repository.MensagemRepository;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class MensagemService {
+    @Autowired
+    private MensagemRepository repository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PersistidorMensagens persistidor;
+
+    @Autowired
+    private HubMensagens hub;
+
+    public SseEmitter conectar(Long usuarioId) {
+        return hub.conectar(usuarioId);
+    }
+
+    public void enviarMensagem(NovaMensagem mensagem) {
+        if (mensagem.texto() == null || mensagem.texto().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Texto é obrigatório");
+        }
+        if (mensagem.remetenteId() == null || mensagem.destinatarioId() == null
+                || mensagem.remetenteId().equals(mensagem.destinatarioId())
+                || usuarioRepository.countByIdIn(Set.of(mensagem.remetenteId(), mensagem.destinatarioId())) != 2) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Remetente e destinatário devem ser usuários distintos existentes");
+        }
+        if (!persistidor.enfileirar(mensagem)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Fila de mensagens cheia");
+        }
+    }
+
+    /**
+     * Histórico da conversa entre dois usuários, do mais recente para o mais antigo. Cada
+     * sentido é lido separadamente pelo índice (remetente, destinatario, id) e os dois
+     * resultados são intercalados, em vez de um OR que não aproveitaria o índice.
+     */
+    public List<MensagemResumo> listarConversa(Long usuarioA, Long usuarioB, long antesDe, int tamanho) {
+        List<MensagemResumo> mensagens = new ArrayList<>(2 * tamanho);
+        mensagens.addAll(repository.findConversa(usuarioA, usuarioB, antesDe, Limit.of(tamanho)));
+        mensagens.addAll(repository.findConversa(usuarioB, usuarioA, antesDe, Limit.of(tamanho)));
+        mensagens.sort(Comparator.comparing(MensagemResumo::id).reversed());
+        return mensagens.size() > tamanho ? mensagens.subList(0, tamanho) : mensagens;
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.gameaccounts.service;
+
+import br.com.gameaccounts.dto.Reputacao;
+import br.com.gameaccounts.model.ReputacaoVendedor;
+import br.com.gameaccounts.repository.ReputacaoVendedorRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class ReputacaoService {
+    @Autowired
+    private ReputacaoVendedorRepository repository;
+
+    private final Cache<Long, Reputacao> cache;
+
+    /**
+     * A invalidação após o commit do feedback não basta sozinha: uma carga que leu o valor
+     * antigo (antes do commit, ou numa réplica atrasada) pode gravá-lo depois dela. A
+     * expiração limita por quanto tempo esse agregado velho continua sendo servido.
+     */
+    public ReputacaoService(
+            @Value("${marketplace.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${marketplace.cache.reputacoes.expiracao:30s}") Duration expiracao,
+            MeterRegistry registry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+        // Mesmas chaves de tag das métricas dos caches do Spring, exigência do formato Prometheus
+        CaffeineCacheMetrics.monitor(registry, cache, "reputacoes", "cache.manager", "reputacaoService", "name", "reputacoes");
+    }
+
+    public Reputacao buscar(Long usuarioId) {
+        return buscar(Set.of(usuarioId)).get(usuarioId);
+    }
+
+    /** Busca várias reputações com no máximo uma consulta para as que não estão em memória. */
+    public Map<Long, Reputacao> buscar(Collection<Long> usuarioIds) {
+        return cache.getAll(usuarioIds, this::carregar);
+    }
+
+    /** Soma a nota ao agregado do vendedor; deve rodar na mesma transação que grava o feedback. */
+    public void registrar(Long usuarioId, int nota) {
+        if (repository.incrementar(usuarioId, nota) == 0) {
+            repository.saveAndFlush(new ReputacaoVendedor(usuarioId, nota));
+        }
+    }
+
+    public void invalidar(Long usuarioId) {
+        cache.invalidate(usuarioId);
+    }
+
+    private Map<Long, Reputacao> carregar(Set<? extends Long> usuarioIds) {
+        Map<Long, Reputacao> reputacoes = new HashMap<>();
+        for (ReputacaoVendedor reputacao : repository.findAllById(Set.copyOf(usuarioIds))) {
+            reputacoes.put(reputacao.getUsuarioId(), Reputacao.de(reputacao));
+        }
+        // Vendedores sem feedback também ficam em cache para não consultar o banco a cada listagem
+        for (Long usuarioId : usuarioIds) {
+            reputacoes.putIfAbsent(usuarioId, Reputacao.vazia());
+        }
+        return reputacoes;
+    }
+}
@@ -1,45 +1,119 @@
 package br.com.gameaccounts.service;
 
+import br.com.gameaccounts.dto.TransacaoResumo;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.model.Anuncio;
 import br.com.gameaccounts.model.Transacao;
+import br.com.gameaccounts.repository.AnuncioRepository;
 import br.com.gameaccounts.repository.TransacaoRepository;
+import br.com.gameaccounts.resumo.ContadoresResumo;
+import br.com.gameaccounts.resumo.ContadoresResumo.Entidade;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class TransacaoService {
     @Autowired
     private TransacaoRepository repository;
 
-    public List<Transacao> listarTransacoes() {
-        return repository.findAll();
+    @Autowired
+    private ExportadorNdjson exportador;
+
+    @Autowired
+    private AnuncioRepository anuncioRepository;
+
+    @Autowired
+    private AnuncioService anuncioService;
+
+    @Autowired
+    private AnaliseVendasService analiseVendasService;
+
+    @Autowired
+    private ContadoresResumo contadores;
+
+    public List<TransacaoResumo> listarTransacoes() {
+        return repository.findResumos();
     }
     
-    public Page<Transacao> listarTransacoesPaginadas(Pageable pageable) {
-        return repository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public long exportarTransacoes(OutputStream saida) throws IOException {
+        try (Stream<Transacao> transacoes = repository.streamAllBy()) {
+            return exportador.exportar(transacoes, saida);
+        }
+    }
+    
+    public Page<TransacaoResumo> listarTransacoesPaginadas(Pageable pageable) {
+        return repository.findResumos(pageable);
+    }
+    
+    public Window<Transacao> listarTransacoesPorCursor(ScrollPosition posicao, Sort sort, int tamanho) {
+        return repository.findAllBy(posicao, sort, Limit.of(tamanho));
     }
 
     public Optional<Transacao> buscarPorId(Long id) {
         return repository.findById(id);
     }
 
+    /**
+     * Uma transação nova é a venda de um anúncio, então passa pela mesma compra de
+     * {@link AnuncioService#comprarAnuncio}: o anúncio fica vendido e uma segunda venda
+     * responde 409. Valor e data saem do anúncio e da hora da compra, não do corpo.
+     */
     public Transacao cadastrarTransacao(Transacao transacao) {
-        return repository.save(transacao);
+        Anuncio anuncio = transacao.getAnuncio();
+        if (anuncio == null || anuncio.getId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe o anúncio vendido");
+        }
+        String metodo = transacao.getPagamento() != null ? transacao.getPagamento().getMetodo() : null;
+        return anuncioService.comprarAnuncio(anuncio.getId(), metodo);
     }
     
+    @Transactional
     public Transacao atualizarTransacao(Long id, Transacao transacao) {
-        if (repository.existsById(id)) {
-            transacao.setId(id);
-            return repository.save(transacao);
-        }
-        return null;
+        // Altera a transação carregada: um save da cópia recebida faria o merge consultá-la de novo
+        return repository.findById(id).map(atual -> {
+            registrarVenda(atual, -1);
+            atual.atualizar(transacao);
+            registrarVenda(atual, 1);
+            return atual;
+        }).orElse(null);
     }
 
+    @Transactional
     public void deletarTransacao(Long id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(transacao -> {
+            registrarVenda(transacao, -1);
+            repository.delete(transacao);
+            contadores.somar(Entidade.TRANSACOES, -1);
+        });
+    }
+
+    /** Mantém os rollups de venda e o volume do resumo em dia com a tabela de transações. */
+    private void registrarVenda(Transacao transacao, int sinal) {
+        contadores.registrarVenda(transacao.getData(), transacao.getValor(), sinal);
+        if (transacao.getData() == null) {
+            return;
+        }
+        Anuncio anuncio = transacao.getAnuncio() != null && transacao.getAnuncio().getId() != null
+                ? anuncioRepository.findById(transacao.getAnuncio().getId()).orElse(null)
+                : null;
+        Long jogoId = anuncio != null && anuncio.getJogo() != null ? anuncio.getJogo().getId() : null;
+        Long vendedorId = anuncio != null && anuncio.getUsuario() != null ? anuncio.getUsuario().getId() : null;
+        analiseVendasService.registrar(transacao.getData(), transacao.getValor(), jogoId, vendedorId, sinal);
     }
 } 
\ No newline at end of file
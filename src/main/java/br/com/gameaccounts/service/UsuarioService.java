@@ -1,53 +1,239 @@
 package br.com.gameaccounts.service;
 
+import br.com.gameaccounts.busca.IndiceTexto;
+import br.com.gameaccounts.config.CacheConfig;
+import br.com.gameaccounts.credenciais.HashSenhas;
+import br.com.gameaccounts.busca.TextoIndexado;
+import br.com.gameaccounts.dto.UsuarioResumo;
+import br.com.gameaccounts.dto.VersaoColecao;
+import br.com.gameaccounts.dto.VersaoRecurso;
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.http.RespostaCondicional;
 import br.com.gameaccounts.model.Usuario;
+import br.com.gameaccounts.repository.ContaJogoRepository;
 import br.com.gameaccounts.repository.UsuarioRepository;
+import br.com.gameaccounts.resumo.ContadoresResumo;
+import br.com.gameaccounts.resumo.ContadoresResumo.Entidade;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 @Service
 public class UsuarioService {
+    // A senha só muda pelo PUT, que passa pelo hash
+    private static final Map<String, Class<?>> CAMPOS_PATCH = Map.of("nome", String.class, "email", String.class);
+
     @Autowired
     private UsuarioRepository repository;
 
-    public List<Usuario> listarUsuarios() {
-        return repository.findAll();
+    @Autowired
+    private HashSenhas hashSenhas;
+
+    /** Continuações após o hash, para não prender o pool de credenciais em I/O de banco. */
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor executorAplicacao;
+
+    @Autowired
+    private ExportadorNdjson exportador;
+
+    @Autowired
+    private ContadoresResumo contadores;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AtualizacaoParcial atualizacaoParcial;
+
+    @Autowired
+    private AnuncioService anuncioService;
+
+    @Autowired
+    private ContaJogoRepository contaJogoRepository;
+
+    private final IndiceTexto indiceNome = new IndiceTexto();
+    private final IndiceTexto indiceEmail = new IndiceTexto();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reindexar() {
+        indiceNome.limpar();
+        indiceEmail.limpar();
+        try (Stream<TextoIndexado> nomes = repository.streamNomes()) {
+            nomes.forEach(n -> indiceNome.indexar(n.id(), n.texto()));
+        }
+        try (Stream<TextoIndexado> emails = repository.streamEmails()) {
+            emails.forEach(e -> indiceEmail.indexar(e.id(), e.texto()));
+        }
+    }
+
+    public List<UsuarioResumo> listarUsuarios() {
+        return repository.findResumos();
+    }
+    
+    @Transactional(readOnly = true)
+    public long exportarUsuarios(OutputStream saida) throws IOException {
+        try (Stream<Usuario> usuarios = repository.streamAllBy()) {
+            return exportador.exportar(usuarios, saida);
+        }
     }
     
-    public Page<Usuario> listarUsuariosPaginados(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Page<UsuarioResumo> listarUsuariosPaginados(Pageable pageable) {
+        return repository.findResumos(pageable);
+    }
+    
+    public Window<Usuario> listarUsuariosPorCursor(ScrollPosition posicao, Sort sort, int tamanho) {
+        return repository.findAllBy(posicao, sort, Limit.of(tamanho));
     }
     
     public Page<Usuario> buscarPorNome(String nome, Pageable pageable) {
-        return repository.findByNomeContainingIgnoreCase(nome, pageable);
+        return indiceNome.buscar(nome, pageable, repository::findAllById, Usuario::getId);
     }
     
     public Page<Usuario> buscarPorEmail(String email, Pageable pageable) {
-        return repository.findByEmailContainingIgnoreCase(email, pageable);
+        return indiceEmail.buscar(email, pageable, repository::findAllById, Usuario::getId);
     }
 
     public Optional<Usuario> buscarPorId(Long id) {
         return repository.findById(id);
     }
 
-    public Usuario cadastrarUsuario(Usuario usuario) {
-        return repository.save(usuario);
+    public Optional<VersaoRecurso> buscarVersao(Long id) {
+        return repository.findVersaoById(id);
+    }
+
+    public VersaoRecurso versaoListagem() {
+        return VersaoRecurso.colecao(repository.findVersaoColecao());
+    }
+
+    public CompletableFuture<Usuario> cadastrarUsuario(Usuario usuario) {
+        validarSenha(usuario.getSenha());
+        return hashSenhas.gerarHash(usuario.getSenha()).thenApplyAsync(hash -> {
+            usuario.alterarSenha(hash);
+            Usuario salvo = salvar(usuario);
+            contadores.somar(Entidade.USUARIOS, 1);
+            return salvo;
+        }, executorAplicacao);
     }
     
-    public Usuario atualizarUsuario(Long id, Usuario usuario) {
-        if (repository.existsById(id)) {
-            usuario.setId(id);
-            return repository.save(usuario);
+    /**
+     * Sem senha no corpo mantém o hash atual, já que ele nunca é devolvido ao cliente. O
+     * hash, quando há, é calculado antes da transação, que então só carrega o usuário e
+     * grava as alterações.
+     */
+    @CacheEvict(value = CacheConfig.ANUNCIOS, allEntries = true)
+    public CompletableFuture<Usuario> atualizarUsuario(Long id, Usuario usuario, Long versaoEsperada) {
+        if (usuario.getSenha() == null) {
+            return CompletableFuture.completedFuture(aplicarAtualizacao(id, usuario, null, versaoEsperada));
+        }
+        validarSenha(usuario.getSenha());
+        return hashSenhas.gerarHash(usuario.getSenha())
+                .thenApplyAsync(hash -> aplicarAtualizacao(id, usuario, hash, versaoEsperada), executorAplicacao);
+    }
+
+    @CacheEvict(value = CacheConfig.ANUNCIOS, allEntries = true)
+    public void atualizarParcialmente(Long id, JsonNode patch, Long versaoEsperada) {
+        Map<String, Object> valores = atualizacaoParcial.aplicar(Usuario.class, id, versaoEsperada, patch, CAMPOS_PATCH);
+        if (valores.containsKey("nome")) {
+            indiceNome.indexarAposCommit(id, (String) valores.get("nome"));
+        }
+        if (valores.containsKey("email")) {
+            indiceEmail.indexarAposCommit(id, (String) valores.get("email"));
+        }
+    }
+
+    /**
+     * Confere email e senha. Se o hash gravado for de custo menor que o atual ou legado em
+     * texto puro, grava o novo hash calculado na verificação, só se ninguém trocou a senha
+     * nesse meio tempo.
+     */
+    public CompletableFuture<UsuarioResumo> autenticar(String email, String senha) {
+        if (email == null || senha == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe email e senha");
         }
-        return null;
+        Optional<Usuario> usuario = repository.findFirstByEmail(email);
+        String hashGravado = usuario.map(Usuario::getSenha).orElse(null);
+        return hashSenhas.verificar(senha, hashGravado).thenApplyAsync(verificacao -> {
+            if (!verificacao.valida()) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Email ou senha inválidos");
+            }
+            Usuario autenticado = usuario.get();
+            if (verificacao.novoHash() != null) {
+                repository.atualizarSenha(autenticado.getId(), hashGravado, verificacao.novoHash());
+            }
+            return new UsuarioResumo(autenticado.getId(), autenticado.getNome(), autenticado.getEmail());
+        }, executorAplicacao);
     }
 
+    @CacheEvict(value = CacheConfig.ANUNCIOS, allEntries = true)
+    @Transactional
     public void deletarUsuario(Long id) {
-        repository.deleteById(id);
+        anuncioService.conferirSemVendasDoUsuario(id);
+        if (repository.excluir(id) == 0) {
+            return;
+        }
+        contadores.somar(Entidade.USUARIOS, -1);
+        anuncioService.deletarAnunciosDoUsuario(id);
+        int contas = contaJogoRepository.excluirPorUsuario(id);
+        if (contas > 0) {
+            contadores.somar(Entidade.CONTAS, -contas);
+        }
+        indiceNome.removerAposCommit(id);
+        indiceEmail.removerAposCommit(id);
+    }
+
+    private Usuario salvar(Usuario usuario) {
+        Usuario salvo = repository.save(usuario);
+        indexar(salvo);
+        return salvo;
+    }
+
+    private Usuario aplicarAtualizacao(Long id, Usuario dados, String hash, Long versaoEsperada) {
+        Usuario atualizado = transactionTemplate.execute(status -> repository.findById(id).map(existente -> {
+            RespostaCondicional.conferirVersao(versaoEsperada, existente.getVersao());
+            dados.alterarSenha(hash != null ? hash : existente.getSenha());
+            existente.atualizar(dados);
+            return existente;
+        }).orElse(null));
+        if (atualizado != null) {
+            indexar(atualizado);
+        }
+        return atualizado;
+    }
+
+    private void validarSenha(String senha) {
+        if (senha == null || senha.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Senha obrigatória");
+        }
+    }
+
+    private void indexar(Usuario usuario) {
+        indiceNome.indexarAposCommit(usuario.getId(), usuario.getNome());
+        indiceEmail.indexarAposCommit(usuario.getId(), usuario.getEmail());
     }
 }
@@ -0,0 +1,71 @@
+package br.com.gameaccounts.benchmark;
+
+import br.com.gameaccounts.dto.AnuncioResumo;
+import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.service.AnuncioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class AnuncioServiceBenchmark {
+    private static final int TAMANHO_PAGINA = 10;
+    private static final Sort ORDENACAO = Sort.by("preco");
+
+    @State(Scope.Benchmark)
+    public static class Paginacao {
+        @Param({"0", "1000", "90000"})
+        public int pagina;
+
+        ScrollPosition posicao;
+
+        @Setup(Level.Trial)
+        public void posicionar(ContextoMarketplace contexto) {
+            // Mesma página do modo offset, alcançada por keyset a partir do último item da página anterior
+            posicao = ScrollPosition.keyset();
+            if (pagina > 0) {
+                Page<AnuncioResumo> anterior = contexto.bean(AnuncioService.class)
+                        .listarAnunciosPaginados(PageRequest.of(pagina - 1, TAMANHO_PAGINA, ORDENACAO));
+                AnuncioResumo ultimo = anterior.getContent().get(anterior.getNumberOfElements() - 1);
+                posicao = ScrollPosition.forward(Map.of("preco", ultimo.preco(), "id", ultimo.id()));
+            }
+        }
+    }
+
+    @Benchmark
+    public Page<Anuncio> buscarPorDescricao(ContextoMarketplace contexto) {
+        return contexto.bean(AnuncioService.class).buscarPorDescricao("facas", PageRequest.of(0, TAMANHO_PAGINA));
+    }
+
+    @Benchmark
+    public Page<AnuncioResumo> listarAnunciosPaginados(ContextoMarketplace contexto, Paginacao paginacao) {
+        return contexto.bean(AnuncioService.class)
+                .listarAnunciosPaginados(PageRequest.of(paginacao.pagina, TAMANHO_PAGINA, ORDENACAO));
+    }
+
+    @Benchmark
+    public Window<AnuncioResumo> listarAnunciosPorCursor(ContextoMarketplace contexto, Paginacao paginacao) {
+        return contexto.bean(AnuncioService.class).listarAnunciosPorCursor(paginacao.posicao, ORDENACAO, TAMANHO_PAGINA);
+    }
+}
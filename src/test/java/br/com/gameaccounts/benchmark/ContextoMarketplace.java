@@ -0,0 +1,56 @@
+package br.com.gameaccounts.benchmark;
+
+import br.com.gameaccounts.MarketplaceApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Sobe o contexto da aplicação no perfil {@code loadtest} contra um H2 em memória, uma
+ * única vez por execução. A massa de dados e os índices de busca são montados na subida.
+ */
+@State(Scope.Benchmark)
+public class ContextoMarketplace {
+    @Param("100000")
+    public int usuarios;
+
+    @Param("1000000")
+    public int anuncios;
+
+    private ConfigurableApplicationContext contexto;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(MarketplaceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("loadtest")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "marketplace.cache.habilitado=false",
+                        "logging.level.root=WARN",
+                        "marketplace.massa.usuarios=" + usuarios,
+                        "marketplace.massa.jogos=200",
+                        "marketplace.massa.contas=" + anuncios / 10,
+                        "marketplace.massa.anuncios=" + anuncios,
+                        "marketplace.massa.transacoes=" + anuncios / 10,
+                        "marketplace.massa.feedbacks=" + usuarios,
+                        "marketplace.massa.mensagens=" + usuarios)
+                .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.gameaccounts.benchmark;
+
+import br.com.gameaccounts.credenciais.CifraSenhas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do bcrypt por fator de trabalho, para fixar {@code marketplace.credenciais.custo} no
+ * hardware de produção: escolha o maior {@code custo} cuja média fica abaixo de
+ * {@code marketplace.credenciais.latencia-alvo}. Rode com
+ * {@code mvn clean test -Pbenchmark -Djmh.args="HashSenhasBenchmark"}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashSenhasBenchmark {
+    @Param({"8", "9", "10", "11", "12", "13"})
+    private int custo;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+    private CifraSenhas cifra;
+    private String senhaCifrada;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        encoder = new BCryptPasswordEncoder(custo);
+        hash = encoder.encode("senha123");
+        cifra = new CifraSenhas(Base64.getEncoder().encodeToString(new byte[32]));
+        senhaCifrada = cifra.cifrar("senha123");
+    }
+
+    @Benchmark
+    public String gerarHash() {
+        return encoder.encode("senha123");
+    }
+
+    @Benchmark
+    public boolean verificar() {
+        return encoder.matches("senha123", hash);
+    }
+
+    /** Referência: a criptografia das senhas de conta é ordens de grandeza mais barata. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String decifrarSenhaConta() {
+        return cifra.decifrar(senhaCifrada);
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.gameaccounts.benchmark;
+
+import br.com.gameaccounts.config.SerializacaoConfig;
+import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.Transacao;
+import br.com.gameaccounts.repository.AnuncioRepository;
+import br.com.gameaccounts.repository.TransacaoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Tempo de serialização de uma página por formato de resposta, com e sem gzip. O tamanho
+ * da página em bytes de cada combinação é impresso na preparação de cada fork. As páginas
+ * são ordenadas por preço, como na vitrine, então vendedores e jogos se repetem como em
+ * produção.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+    private static final int TAMANHO_PAGINA = 50;
+
+    @Param({"json", "referencias", "cbor", "smile"})
+    private String formato;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<Anuncio> anuncios;
+    private List<Transacao> transacoes;
+
+    @Setup(Level.Trial)
+    public void carregar(ContextoMarketplace contexto) {
+        objectMapper = switch (formato) {
+            case "referencias" -> SerializacaoConfig.mapperReferencias(contexto.bean(Jackson2ObjectMapperBuilder.class));
+            case "cbor" -> SerializacaoConfig.mapperCbor(contexto.bean(Jackson2ObjectMapperBuilder.class));
+            case "smile" -> SerializacaoConfig.mapperSmile(contexto.bean(Jackson2ObjectMapperBuilder.class));
+            default -> contexto.bean(ObjectMapper.class);
+        };
+        anuncios = contexto.bean(AnuncioRepository.class)
+                .findAll(PageRequest.of(0, TAMANHO_PAGINA, Sort.by("preco"))).getContent();
+        transacoes = contexto.bean(TransacaoRepository.class)
+                .findAll(PageRequest.of(0, TAMANHO_PAGINA, Sort.by("valor"))).getContent();
+        System.out.printf("%n%s%s: anúncios %d bytes/página, transações %d bytes/página%n", formato,
+                gzip ? "+gzip" : "", serializarAnuncios().length, serializarTransacoes().length);
+    }
+
+    @Benchmark
+    public byte[] serializarAnuncios() {
+        return serializar(anuncios);
+    }
+
+    @Benchmark
+    public byte[] serializarTransacoes() {
+        return serializar(transacoes);
+    }
+
+    private byte[] serializar(Object pagina) {
+        try {
+            byte[] corpo = objectMapper.writeValueAsBytes(pagina);
+            if (!gzip) {
+                return corpo;
+            }
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.length / 4);
+            try (GZIPOutputStream compressor = new GZIPOutputStream(saida)) {
+                compressor.write(corpo);
+            }
+            return saida.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
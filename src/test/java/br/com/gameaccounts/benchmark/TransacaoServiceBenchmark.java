@@ -0,0 +1,36 @@
+package br.com.gameaccounts.benchmark;
+
+import br.com.gameaccounts.dto.TransacaoResumo;
+import br.com.gameaccounts.service.TransacaoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@State(Scope.Benchmark)
+public class TransacaoServiceBenchmark {
+    @Param({"0", "1000", "9000"})
+    public int pagina;
+
+    @Benchmark
+    public Page<TransacaoResumo> listarTransacoesPaginadas(ContextoMarketplace contexto) {
+        return contexto.bean(TransacaoService.class)
+                .listarTransacoesPaginadas(PageRequest.of(pagina, 10, Sort.by(Sort.Direction.DESC, "data")));
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.gameaccounts.carga;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("carga")
+abstract class CargaModoExecucao {
+    private static final int CLIENTES = 1000;
+    private static final int REQUISICOES_POR_CLIENTE = 20;
+
+    @LocalServerPort
+    private int porta;
+
+    protected abstract String modo();
+
+    @Test
+    void medirVazaoELatencia() throws Exception {
+        URI uri = URI.create("http://localhost:" + porta + "/anuncios/paginados?page=0&size=10");
+
+        GeradorCarga.executar(uri, 50, 20);
+        GeradorCarga.Resultado resultado = GeradorCarga.executar(uri, CLIENTES, REQUISICOES_POR_CLIENTE);
+
+        System.out.printf("[carga] %s: %s%n", modo(), resultado);
+        assertThat(resultado.erros()).isZero();
+    }
+}
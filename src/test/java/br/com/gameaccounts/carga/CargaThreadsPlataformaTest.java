@@ -0,0 +1,17 @@
+package br.com.gameaccounts.carga;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=false",
+        "spring.jpa.show-sql=false",
+        "marketplace.limite.habilitado=false",
+        "spring.datasource.hikari.maximum-pool-size=40"
+})
+class CargaThreadsPlataformaTest extends CargaModoExecucao {
+
+    @Override
+    protected String modo() {
+        return "threads de plataforma";
+    }
+}
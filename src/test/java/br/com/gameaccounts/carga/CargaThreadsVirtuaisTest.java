@@ -0,0 +1,17 @@
+package br.com.gameaccounts.carga;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "marketplace.limite.habilitado=false"
+})
+@ActiveProfiles("virtual")
+class CargaThreadsVirtuaisTest extends CargaModoExecucao {
+
+    @Override
+    protected String modo() {
+        return "threads virtuais";
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.gameaccounts.carga;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispara requisições GET concorrentes (um cliente por thread virtual) e mede vazão
+ * e percentis de latência.
+ */
+final class GeradorCarga {
+
+    record Resultado(int requisicoes, int erros, Duration duracao, long p50Micros, long p99Micros) {
+        double vazao() {
+            return requisicoes / (duracao.toNanos() / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requisições, %d erros, %.0f req/s, p50=%.2f ms, p99=%.2f ms",
+                    requisicoes, erros, vazao(), p50Micros / 1000.0, p99Micros / 1000.0);
+        }
+    }
+
+    private GeradorCarga() {}
+
+    static Resultado executar(URI uri, int clientes, int requisicoesPorCliente) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest requisicao = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        long[] latencias = new long[clientes * requisicoesPorCliente];
+        AtomicInteger posicao = new AtomicInteger();
+        AtomicInteger erros = new AtomicInteger();
+
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientes; c++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < requisicoesPorCliente; i++) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) {
+                                erros.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        latencias[posicao.getAndIncrement()] = (System.nanoTime() - t0) / 1000;
+                    }
+                });
+            }
+        }
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+
+        Arrays.sort(latencias);
+        return new Resultado(latencias.length, erros.get(), duracao,
+                percentil(latencias, 0.50), percentil(latencias, 0.99));
+    }
+
+    private static long percentil(long[] ordenados, double p) {
+        int indice = (int) Math.ceil(p * ordenados.length) - 1;
+        return ordenados[Math.max(0, Math.min(indice, ordenados.length - 1))];
+    }
+}
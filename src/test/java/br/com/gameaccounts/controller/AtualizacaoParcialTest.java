@@ -0,0 +1,120 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.model.Usuario;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AtualizacaoParcialTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Test
+    void patchAlteraSoOsCamposEnviadosERecusaVersaoAntiga() throws Exception {
+        long id = criarJogo();
+        String etag = mockMvc.perform(get("/jogos/" + id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/jogos/" + id).contentType(AtualizacaoParcial.MEDIA_TYPE)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content("{\"nome\":\"Celeste Farewell\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/jogos/" + id))
+                .andExpect(jsonPath("$.nome").value("Celeste Farewell"))
+                .andExpect(jsonPath("$.plataforma").value("Switch"));
+
+        mockMvc.perform(patch("/jogos/" + id).contentType(AtualizacaoParcial.MEDIA_TYPE)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content("{\"plataforma\":\"PC\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/jogos/" + id).contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content("{\"nome\":\"Celeste\",\"plataforma\":\"PC\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void patchSemRegistroOuComCampoProtegido() throws Exception {
+        mockMvc.perform(patch("/jogos/999999").contentType(AtualizacaoParcial.MEDIA_TYPE)
+                        .content("{\"nome\":\"Nada\"}"))
+                .andExpect(status().isNotFound());
+
+        long id = criarJogo();
+        mockMvc.perform(patch("/jogos/" + id).contentType(AtualizacaoParcial.MEDIA_TYPE)
+                        .content("{\"atualizadoEm\":\"2020-01-01T00:00:00\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void anuncioVendidoNaoAceitaPatch() throws Exception {
+        String corpo = mockMvc.perform(post("/anuncios").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"descricao\":\"Conta vendida\",\"preco\":50.0,\"usuario\":{\"id\":1},\"jogo\":{\"id\":1}}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(corpo).get("id").asLong();
+        mockMvc.perform(post("/anuncios/" + id + "/comprar").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"metodo\":\"PIX\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(patch("/anuncios/" + id).contentType(AtualizacaoParcial.MEDIA_TYPE)
+                        .content("{\"preco\":1.0}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/anuncios/" + id))
+                .andExpect(jsonPath("$.preco").value(50.0));
+    }
+
+    @Test
+    void alteracaoNoJogoOuNoVendedorApareceNoAnuncioEmCache() throws Exception {
+        long jogo = criarJogo();
+        long vendedor = usuarioRepository.save(new Usuario("Vendedor", "vendedor.cache@email.com", "hash")).getId();
+        String corpo = mockMvc.perform(post("/anuncios").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"descricao\":\"Conta em cache\",\"preco\":30.0,\"usuario\":{\"id\":" + vendedor
+                                + "},\"jogo\":{\"id\":" + jogo + "}}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(corpo).get("id").asLong();
+        mockMvc.perform(get("/anuncios/" + id)).andExpect(jsonPath("$.jogo.nome").value("Celeste"));
+
+        mockMvc.perform(patch("/jogos/" + jogo).contentType(AtualizacaoParcial.MEDIA_TYPE)
+                        .content("{\"nome\":\"Celeste Classic\"}"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/usuarios/" + vendedor).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Vendedor Renomeado\",\"email\":\"vendedor.cache@email.com\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/anuncios/" + id))
+                .andExpect(jsonPath("$.jogo.nome").value("Celeste Classic"))
+                .andExpect(jsonPath("$.usuario.nome").value("Vendedor Renomeado"));
+    }
+
+    private long criarJogo() throws Exception {
+        String corpo = mockMvc.perform(post("/jogos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Celeste\",\"plataforma\":\"Switch\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo).get("id").asLong();
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import br.com.gameaccounts.lote.ProcessadorLote;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CadastroLoteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void blocoComFalhaNoBancoVoltaInteiroEOsDemaisFicam() throws Exception {
+        // Item 10 tenta sobrescrever o anúncio 1; o 650 aponta para um vendedor inexistente e derruba o segundo bloco
+        String descricaoOriginal = jdbcTemplate.queryForObject("select descricao from anuncio where id = 1", String.class);
+        int total = ProcessadorLote.TAMANHO_BLOCO + 200;
+        StringBuilder corpo = new StringBuilder();
+        for (int i = 0; i < total; i++) {
+            String id = i == 10 ? "\"id\":1," : "";
+            long usuario = i == 650 ? 999999 : 1;
+            corpo.append("{").append(id).append("\"descricao\":\"Conta em lote ").append(i)
+                    .append("\",\"preco\":10.0,\"usuario\":{\"id\":").append(usuario).append("},\"jogo\":{\"id\":1}}\n");
+        }
+
+        JsonNode resultados = objectMapper.readTree(mockMvc.perform(post("/anuncios/lote")
+                        .contentType(ExportadorNdjson.MEDIA_TYPE).content(corpo.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        assertThat(resultados).hasSize(total);
+        assertThat(resultados.get(10).get("erro").asText()).contains("id");
+        long sucessos = 0;
+        for (JsonNode resultado : resultados) {
+            int indice = resultado.get("indice").asInt();
+            boolean sucesso = resultado.get("erro").isNull();
+            // Sem o item 10, o primeiro bloco vai até o índice 500
+            assertThat(sucesso).as("item %d", indice).isEqualTo(indice <= ProcessadorLote.TAMANHO_BLOCO && indice != 10);
+            if (sucesso) {
+                sucessos++;
+            }
+        }
+        assertThat(sucessos).isEqualTo(ProcessadorLote.TAMANHO_BLOCO);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from anuncio where descricao like 'Conta em lote %'", Long.class))
+                .isEqualTo(sucessos);
+        assertThat(jdbcTemplate.queryForObject("select descricao from anuncio where id = 1", String.class))
+                .isEqualTo(descricaoOriginal);
+    }
+
+    @Test
+    void contasEmLoteRecusamIdEItensInvalidos() throws Exception {
+        String corpo = "[{\"login\":\"lote1\",\"senha\":\"s1\",\"jogo\":{\"id\":1},\"usuario\":{\"id\":1}},"
+                + "{\"id\":1,\"login\":\"lote2\",\"senha\":\"s2\",\"jogo\":{\"id\":1}},"
+                + "{\"login\":\"lote3\",\"jogo\":{\"id\":1}},"
+                + "{\"login\":\"lote4\",\"senha\":\"s4\",\"jogo\":{\"id\":1}}]";
+
+        JsonNode resultados = objectMapper.readTree(mockMvc.perform(post("/contas/lote")
+                        .contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        assertThat(resultados.findValues("erro")).extracting(JsonNode::isNull).containsExactly(true, false, false, true);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from conta_jogo where login like 'lote%'", Long.class))
+                .isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("select login from conta_jogo where id = 1", String.class))
+                .isNotEqualTo("lote2");
+    }
+}
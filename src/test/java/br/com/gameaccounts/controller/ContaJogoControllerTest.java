@@ -0,0 +1,39 @@
+package br.com.gameaccounts.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ContaJogoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listaContasDoDono() throws Exception {
+        mockMvc.perform(get("/contas/usuario/1?page=0&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].usuario.id").value(everyItem(is(1))))
+                .andExpect(jsonPath("$.content[*].login").value(hasItems("jogador123", "topPlayer")));
+    }
+
+    @Test
+    void listaContasDoJogoPaginadas() throws Exception {
+        mockMvc.perform(get("/contas/jogo/2?page=0&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].jogo.id").value(2))
+                .andExpect(jsonPath("$.content[0].login").value("proGamer456"));
+    }
+}
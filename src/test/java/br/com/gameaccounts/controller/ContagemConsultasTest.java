@@ -0,0 +1,68 @@
+package br.com.gameaccounts.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Conta as consultas do plano de carga, sem depender de quais entidades já estão em cache
+        "marketplace.cache.habilitado=false"
+})
+@AutoConfigureMockMvc
+class ContagemConsultasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // Listagens de anúncios: +1 consulta para as reputações dos vendedores, qualquer que seja a página
+            "/anuncios, 2",
+            // GETs condicionais: +1 consulta só das colunas de versão para o ETag
+            "/anuncios/1, 2",
+            "/anuncios/paginados?page=0&size=10, 3",
+            "/anuncios/paginados?size=10, 1",
+            // ETag da listagem de contas: agregados de versões de contas e usuários + lista de jogos, que normalmente vem do cache
+            "/contas, 4",
+            "/contas/paginados?page=0&size=10, 2",
+            "/contas/jogo/1?page=0&size=10, 2",
+            "/contas/usuario/1?page=0&size=10, 2",
+            "/contas/paginados?size=10, 1",
+            "/transacoes, 1",
+            "/transacoes/1, 1",
+            "/transacoes/paginados?page=0&size=10, 2",
+            "/transacoes/paginados?size=10, 1",
+            "/transacoes/export, 1"
+    })
+    void listagemExecutaNumeroLimitadoDeConsultas(String url, long maximoConsultas) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("consultas em %s", url)
+                .isLessThanOrEqualTo(maximoConsultas);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.model.Usuario;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CredenciaisTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cadastroGravaHashELoginConfereSenha() throws Exception {
+        assincrono(post("/usuarios"), "{\"nome\":\"Ana\",\"email\":\"ana@email.com\",\"senha\":\"segredo\"}")
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.senha").doesNotExist());
+        assertThat(usuarioRepository.findFirstByEmail("ana@email.com").orElseThrow().getSenha()).startsWith("{bcrypt}");
+
+        assincrono(post("/usuarios/login"), "{\"email\":\"ana@email.com\",\"senha\":\"segredo\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Ana"));
+        assincrono(post("/usuarios/login"), "{\"email\":\"ana@email.com\",\"senha\":\"errada\"}")
+                .andExpect(status().isUnauthorized());
+        assincrono(post("/usuarios/login"), "{\"email\":\"ninguem@email.com\",\"senha\":\"segredo\"}")
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void loginMigraSenhaLegadaParaHash() throws Exception {
+        Long id = usuarioRepository.save(new Usuario("Legado", "legado@email.com", "antiga")).getId();
+
+        assincrono(post("/usuarios/login"), "{\"email\":\"legado@email.com\",\"senha\":\"antiga\"}")
+                .andExpect(status().isOk());
+
+        assertThat(usuarioRepository.findById(id).orElseThrow().getSenha()).startsWith("{bcrypt}");
+    }
+
+    @Test
+    void senhaDaContaFicaCifradaNoBanco() throws Exception {
+        List<String> gravadas = jdbcTemplate.queryForList("select senha from conta_jogo where login = 'jogador123'", String.class);
+
+        assertThat(gravadas).isNotEmpty().allSatisfy(gravada -> assertThat(gravada).startsWith("v1:").doesNotContain("senha123"));
+    }
+
+    @Test
+    void senhaDaContaSoApareceParaODono() throws Exception {
+        mockMvc.perform(get("/contas"))
+                .andExpect(jsonPath("$[?(@.login == 'jogador123')]").isNotEmpty())
+                .andExpect(jsonPath("$[*].senha").isEmpty());
+        mockMvc.perform(get("/contas/paginados").param("page", "0"))
+                .andExpect(jsonPath("$.content[*].senha").isEmpty());
+        assertThat(mockMvc.perform(get("/contas/export")).andReturn().getResponse().getContentAsString())
+                .contains("jogador123").doesNotContain("senha123").doesNotContain("\"senha\"");
+
+        Long id = jdbcTemplate.queryForObject("select min(id) from conta_jogo where login = 'jogador123'", Long.class);
+        assincrono(post("/contas/" + id + "/credenciais"), "{\"email\":\"joao@email.com\",\"senha\":\"senha123\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.login").value("jogador123"))
+                .andExpect(jsonPath("$.senha").value("senha123"));
+        assincrono(post("/contas/" + id + "/credenciais"), "{\"email\":\"maria@email.com\",\"senha\":\"senha456\"}")
+                .andExpect(status().isNotFound());
+        assincrono(post("/contas/" + id + "/credenciais"), "{\"email\":\"joao@email.com\",\"senha\":\"errada\"}")
+                .andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions assincrono(MockHttpServletRequestBuilder requisicao,
+                                     String corpo) throws Exception {
+        MvcResult resultado = mockMvc.perform(requisicao.contentType(MediaType.APPLICATION_JSON).content(corpo)).andReturn();
+        return mockMvc.perform(asyncDispatch(resultado));
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.Pagamento;
+import br.com.gameaccounts.model.Transacao;
+import br.com.gameaccounts.repository.JogoRepository;
+import br.com.gameaccounts.repository.TransacaoRepository;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import br.com.gameaccounts.resumo.ContadoresResumo;
+import br.com.gameaccounts.resumo.ContadoresResumo.Entidade;
+import br.com.gameaccounts.service.AnuncioService;
+import br.com.gameaccounts.service.DashboardService;
+import br.com.gameaccounts.service.TransacaoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JogoRepository jogoRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private AnuncioService anuncioService;
+
+    @Autowired
+    private ContadoresResumo contadores;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void resumoConfereComOBancoDepoisDaReconciliacao() throws Exception {
+        dashboardService.reconciliar();
+
+        JsonNode resumo = resumo();
+        assertThat(resumo.get("usuarios").asLong()).isEqualTo(usuarioRepository.count());
+        assertThat(resumo.get("jogos").asLong()).isEqualTo(jogoRepository.count());
+        assertThat(resumo.get("transacoes").asLong()).isEqualTo(transacaoRepository.count());
+        assertThat(resumo.get("volumeVendas").asDouble()).isCloseTo(transacaoRepository.somarValores(), within(0.001));
+        assertThat(resumo.get("reconciliadoEm").isNull()).isFalse();
+    }
+
+    @Test
+    void escritasPelosServicosAtualizamOsContadoresSemReconciliar() throws Exception {
+        long jogos = resumo().get("jogos").asLong();
+
+        String corpo = mockMvc.perform(post("/jogos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Hades\",\"plataforma\":\"PC\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(resumo().get("jogos").asLong()).isEqualTo(jogos + 1);
+
+        long id = objectMapper.readTree(corpo).get("id").asLong();
+        mockMvc.perform(delete("/jogos/" + id)).andExpect(status().is2xxSuccessful());
+        mockMvc.perform(delete("/jogos/" + id)).andExpect(status().is2xxSuccessful());
+        assertThat(resumo().get("jogos").asLong()).isEqualTo(jogos);
+    }
+
+    @Test
+    void contadoresSoMudamDepoisDoCommit() {
+        long transacoes = contadores.quantidade(Entidade.TRANSACOES);
+        double volume = contadores.volumeVendas();
+        Anuncio anuncio = anuncioService.cadastrarAnuncio(new Anuncio("Conta do resumo", 25.0,
+                usuarioRepository.findById(1L).orElseThrow()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transacaoService.cadastrarTransacao(new Transacao(LocalDateTime.now(), 25.0, anuncio, new Pagamento(25.0, "PIX")));
+            assertThat(contadores.quantidade(Entidade.TRANSACOES)).isEqualTo(transacoes);
+            status.setRollbackOnly();
+        });
+        assertThat(contadores.quantidade(Entidade.TRANSACOES)).isEqualTo(transacoes);
+        assertThat(contadores.volumeVendas()).isEqualTo(volume);
+
+        transacaoService.cadastrarTransacao(new Transacao(LocalDateTime.now(), 25.0, anuncio, new Pagamento(25.0, "PIX")));
+        assertThat(contadores.quantidade(Entidade.TRANSACOES)).isEqualTo(transacoes + 1);
+        assertThat(contadores.volumeVendas()).isCloseTo(volume + 25.0, within(0.001));
+    }
+
+    private JsonNode resumo() throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/dashboard/resumo"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.expurgo.ExpurgoExcluidos;
+import br.com.gameaccounts.http.AtualizacaoParcial;
+import br.com.gameaccounts.model.Usuario;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExclusaoLogicaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ExpurgoExcluidos expurgo;
+
+    @Test
+    void exclusaoEmLoteMarcaOsAnunciosEOExpurgoRemoveAsLinhas() throws Exception {
+        long a = criarAnuncio(1);
+        long b = criarAnuncio(1);
+
+        mockMvc.perform(delete("/anuncios").param("ids", a + "," + b + ",999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.solicitados").value(3))
+                .andExpect(jsonPath("$.excluidos").value(2));
+        mockMvc.perform(get("/anuncios/" + a)).andExpect(status().isNotFound());
+        assertThat(jdbcTemplate.queryForObject("select excluido from anuncio where id = ?", Boolean.class, b)).isTrue();
+
+        expurgo.expurgar();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from anuncio where id in (?, ?)", Long.class, a, b)).isZero();
+    }
+
+    @Test
+    void anuncioVendidoNaoPodeSerExcluido() throws Exception {
+        long id = criarAnuncio(1);
+        mockMvc.perform(post("/anuncios/" + id + "/comprar").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"metodo\":\"PIX\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(delete("/anuncios/" + id)).andExpect(status().isConflict());
+        mockMvc.perform(get("/anuncios/" + id)).andExpect(status().isOk());
+    }
+
+    @Test
+    void anuncioExcluidoNaoAceitaPatch() throws Exception {
+        long id = criarAnuncio(1);
+        mockMvc.perform(delete("/anuncios/" + id)).andExpect(status().isNoContent());
+
+        mockMvc.perform(patch("/anuncios/" + id).contentType(AtualizacaoParcial.MEDIA_TYPE)
+                        .content("{\"preco\":1.0}"))
+                .andExpect(status().isNotFound());
+        assertThat(jdbcTemplate.queryForObject("select preco from anuncio where id = ?", Double.class, id)).isEqualTo(10.0);
+    }
+
+    @Test
+    void excluirVendedorLevaJuntoOsAnunciosAVenda() throws Exception {
+        long vendedor = usuarioRepository.save(new Usuario("Vendedor", "vendedor@email.com", "hash")).getId();
+        long anuncio = criarAnuncio(vendedor);
+
+        mockMvc.perform(delete("/usuarios/" + vendedor)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/usuarios/" + vendedor)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/anuncios/" + anuncio)).andExpect(status().isNotFound());
+
+        expurgo.expurgar();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from usuario where id = ?", Long.class, vendedor)).isZero();
+    }
+
+    @Test
+    void vendedorComAnuncioVendidoNaoPodeSerExcluido() throws Exception {
+        long vendedor = usuarioRepository.save(new Usuario("Vendedor com venda", "vendeu@email.com", "hash")).getId();
+        long vendido = criarAnuncio(vendedor);
+        long aVenda = criarAnuncio(vendedor);
+        mockMvc.perform(post("/anuncios/" + vendido + "/comprar").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"metodo\":\"PIX\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(delete("/usuarios/" + vendedor)).andExpect(status().isConflict());
+        mockMvc.perform(delete("/jogos/1")).andExpect(status().isConflict());
+
+        mockMvc.perform(get("/anuncios/" + vendido))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usuario.id").value(vendedor))
+                .andExpect(jsonPath("$.jogo.id").value(1));
+        mockMvc.perform(get("/anuncios/" + aVenda)).andExpect(status().isOk());
+        mockMvc.perform(get("/usuarios/" + vendedor)).andExpect(status().isOk());
+    }
+
+    private long criarAnuncio(long usuarioId) throws Exception {
+        String corpo = mockMvc.perform(post("/anuncios").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"descricao\":\"Conta para excluir\",\"preco\":10.0,"
+                                + "\"usuario\":{\"id\":" + usuarioId + "},\"jogo\":{\"id\":1}}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo).get("id").asLong();
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.exportacao.ExportadorNdjson;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportacaoNdjsonTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cadaExportacaoTrazUmObjetoPorLinhaParaCadaRegistro() throws Exception {
+        conferir("/anuncios/export", "select count(*) from anuncio where excluido = false");
+        conferir("/jogos/export", "select count(*) from jogo where excluido = false");
+        conferir("/usuarios/export", "select count(*) from usuario where excluido = false");
+        conferir("/contas/export", "select count(*) from conta_jogo where excluido = false");
+        conferir("/transacoes/export", "select count(*) from transacao");
+    }
+
+    private void conferir(String url, String contagem) throws Exception {
+        String corpo = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ExportadorNdjson.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(corpo).as(url).endsWith("\n");
+        String[] linhas = corpo.split("\n");
+        Set<Long> ids = new HashSet<>();
+        for (String linha : linhas) {
+            JsonNode registro = objectMapper.readTree(linha);
+            assertThat(registro.isObject()).as(url).isTrue();
+            ids.add(registro.get("id").asLong());
+        }
+        assertThat(ids).as(url).hasSize(linhas.length);
+        assertThat((long) linhas.length).as(url).isEqualTo(jdbcTemplate.queryForObject(contagem, Long.class));
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.gameaccounts.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FeedbackControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void feedbackAtualizaReputacaoDoVendedor() throws Exception {
+        mockMvc.perform(get("/usuarios/3/reputacao")).andExpect(jsonPath("$.quantidade").value(0));
+
+        avaliar(3, 5);
+        avaliar(3, 2);
+
+        mockMvc.perform(get("/usuarios/3/reputacao"))
+                .andExpect(jsonPath("$.quantidade").value(2))
+                .andExpect(jsonPath("$.media").value(3.5))
+                .andExpect(jsonPath("$.histograma[1]").value(1))
+                .andExpect(jsonPath("$.histograma[4]").value(1));
+        mockMvc.perform(get("/anuncios/paginados?page=0&size=10&sort=id"))
+                .andExpect(jsonPath("$.content[?(@.usuario.id == 3)].reputacaoVendedor.quantidade").value(2));
+    }
+
+    @Test
+    void rejeitaNotaForaDaEscala() throws Exception {
+        mockMvc.perform(post("/feedbacks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"comentario\":\"x\",\"nota\":6,\"usuario\":{\"id\":1}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void avaliar(long usuarioId, int nota) throws Exception {
+        mockMvc.perform(post("/feedbacks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"comentario\":\"Entrega rápida\",\"nota\":" + nota + ",\"usuario\":{\"id\":" + usuarioId + "}}"))
+                .andExpect(status().isCreated());
+    }
+}
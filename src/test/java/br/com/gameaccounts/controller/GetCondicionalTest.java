@@ -0,0 +1,79 @@
+package br.com.gameaccounts.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "marketplace.cache.habilitado=false"
+})
+@AutoConfigureMockMvc
+class GetCondicionalTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void anuncioNaoModificadoRespondeSemCarregarAEntidade() throws Exception {
+        String etag = etag("/anuncios/1");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/anuncios/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void alteracaoNoJogoMudaOEtagDoJogoEDaListagem() throws Exception {
+        String etagJogo = etag("/jogos/4");
+        String etagLista = etag("/jogos");
+        mockMvc.perform(get("/jogos").header(HttpHeaders.IF_NONE_MATCH, etagLista)).andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/jogos/4").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Counter-Strike 2\",\"plataforma\":\"PC e Mac\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/jogos/4").header(HttpHeaders.IF_NONE_MATCH, etagJogo)).andExpect(status().isOk());
+        mockMvc.perform(get("/jogos").header(HttpHeaders.IF_NONE_MATCH, etagLista)).andExpect(status().isOk());
+        assertThat(etag("/jogos/4")).isNotEqualTo(etagJogo);
+    }
+
+    @Test
+    void usuarioAceitaIfModifiedSince() throws Exception {
+        String ultimaModificacao = mockMvc.perform(get("/usuarios/2")).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/usuarios/2").header(HttpHeaders.IF_MODIFIED_SINCE, ultimaModificacao))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/usuarios/999999").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String etag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+}
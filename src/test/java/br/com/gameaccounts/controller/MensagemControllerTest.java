@@ -0,0 +1,67 @@
+package br.com.gameaccounts.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class MensagemControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void mensagensGravadasEmLoteAparecemNoHistoricoPaginado() throws Exception {
+        enviar(1, 2, "Ainda está disponível?");
+        enviar(2, 1, "Sim, está");
+        enviar(1, 2, "Fechado");
+
+        String primeira = aguardarConversa();
+        assertThat(JsonPath.<List<String>>read(primeira, "$.conteudo[*].texto")).containsExactly("Fechado", "Sim, está");
+
+        String cursor = JsonPath.read(primeira, "$.proximoCursor");
+        String segunda = mockMvc.perform(get("/mensagens/conversa?usuarioA=2&usuarioB=1&size=2&cursor=" + cursor))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(JsonPath.<List<String>>read(segunda, "$.conteudo[*].texto")).containsExactly("Ainda está disponível?");
+        assertThat(JsonPath.<Boolean>read(segunda, "$.temProxima")).isFalse();
+    }
+
+    @Test
+    void rejeitaMensagemParaSiMesmo() throws Exception {
+        mockMvc.perform(post("/mensagens").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"remetenteId\":1,\"destinatarioId\":1,\"texto\":\"oi\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void enviar(long remetente, long destinatario, String texto) throws Exception {
+        mockMvc.perform(post("/mensagens").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"remetenteId\":" + remetente + ",\"destinatarioId\":" + destinatario + ",\"texto\":\"" + texto + "\"}"))
+                .andExpect(status().isAccepted());
+    }
+
+    private String aguardarConversa() throws Exception {
+        String pagina = "";
+        for (int tentativa = 0; tentativa < 50; tentativa++) {
+            pagina = mockMvc.perform(get("/mensagens/conversa?usuarioA=1&usuarioB=2&size=2"))
+                    .andReturn().getResponse().getContentAsString();
+            if (JsonPath.<Boolean>read(pagina, "$.temProxima")
+                    && JsonPath.<String>read(pagina, "$.conteudo[0].texto").equals("Fechado")) {
+                return pagina;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Mensagens não foram gravadas: " + pagina);
+    }
+}
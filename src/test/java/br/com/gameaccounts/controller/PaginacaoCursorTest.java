@@ -0,0 +1,83 @@
+package br.com.gameaccounts.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaginacaoCursorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cursorSoValeParaAOrdenacaoQueOGerou() throws Exception {
+        String primeira = mockMvc.perform(get("/jogos/paginados").param("size", "2").param("sort", "nome"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(primeira, "$.proximoCursor");
+
+        mockMvc.perform(get("/jogos/paginados").param("size", "2").param("sort", "nome").param("cursor", cursor))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/jogos/paginados").param("size", "2").param("sort", "nome").param("direction", "DESC")
+                        .param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/jogos/paginados").param("size", "2").param("sort", "plataforma").param("cursor", cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cursorDeAnunciosPercorreEmpatesDePrecoSemPularNemRepetir() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            mockMvc.perform(post("/anuncios").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"descricao\":\"Conta empatada " + i + "\",\"preco\":33.0,\"usuario\":{\"id\":1},\"jogo\":{\"id\":1}}"))
+                    .andExpect(status().isCreated());
+        }
+
+        List<Long> vistos = new ArrayList<>();
+        String cursor = null;
+        do {
+            var requisicao = get("/anuncios/paginados").param("size", "4");
+            if (cursor != null) {
+                requisicao.param("cursor", cursor);
+            }
+            JsonNode pagina = objectMapper.readTree(mockMvc.perform(requisicao)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            double anterior = Double.NEGATIVE_INFINITY;
+            for (JsonNode anuncio : pagina.get("conteudo")) {
+                assertThat(anuncio.has("vendido")).isFalse();
+                assertThat(anuncio.get("usuario").get("nome").asText()).isNotEmpty();
+                assertThat(anuncio.get("preco").asDouble()).isGreaterThanOrEqualTo(anterior);
+                anterior = anuncio.get("preco").asDouble();
+                vistos.add(anuncio.get("id").asLong());
+            }
+            cursor = pagina.get("proximoCursor").isNull() ? null : pagina.get("proximoCursor").asText();
+        } while (cursor != null);
+
+        assertThat(vistos).doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(jdbcTemplate.queryForList("select id from anuncio where excluido = false", Long.class));
+    }
+}
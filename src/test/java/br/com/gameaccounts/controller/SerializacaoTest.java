@@ -0,0 +1,93 @@
+package br.com.gameaccounts.controller;
+
+import br.com.gameaccounts.config.SerializacaoConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SerializacaoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void semPreferenciaContinuaJson() throws Exception {
+        mockMvc.perform(get("/anuncios").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void cborTrazOMesmoConteudoQueOJson() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/anuncios").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        String json = mockMvc.perform(get("/anuncios")).andReturn().getResponse().getContentAsString();
+
+        assertThat(new ObjectMapper(new CBORFactory()).readTree(cbor)).isEqualTo(new ObjectMapper().readTree(json));
+        assertThat(cbor.length).isLessThan(json.getBytes().length);
+    }
+
+    @Test
+    void referenciasRepetidasSaemSoPeloId() throws Exception {
+        String corpo = mockMvc.perform(get("/anuncios").accept(SerializacaoConfig.REFERENCIAS_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode anuncios = new ObjectMapper().readTree(corpo);
+        long completos = 0;
+        long soId = 0;
+        for (JsonNode anuncio : anuncios) {
+            if (anuncio.get("usuario").isObject()) {
+                completos++;
+            } else {
+                soId++;
+                assertThat(anuncio.get("usuario").isNumber()).isTrue();
+            }
+        }
+        assertThat(soId).isPositive();
+        assertThat(completos).isEqualTo(anuncios.findValues("usuario").stream()
+                .map(u -> u.isObject() ? u.get("id").asLong() : u.asLong()).distinct().count());
+    }
+
+    @Test
+    void cadaFormatoTemSeuEtag() throws Exception {
+        String etagJson = mockMvc.perform(get("/anuncios/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String etagCbor = mockMvc.perform(get("/anuncios/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etagCbor).isNotEqualTo(etagJson);
+
+        mockMvc.perform(get("/anuncios/1").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etagJson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/anuncios/1").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, etagCbor))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/anuncios/1").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etagJson))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/jogos/1").accept(SerializacaoConfig.REFERENCIAS_JSON).header(HttpHeaders.IF_NONE_MATCH,
+                        mockMvc.perform(get("/jogos/1")).andReturn().getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.gameaccounts.limite;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "marketplace.limite.busca.taxa=0.1",
+        "marketplace.limite.busca.rajada=2"
+})
+@AutoConfigureMockMvc
+class LimiteRequisicoesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void buscaAlemDaRajadaRecebe429ComRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/anuncios/busca/descricao?descricao=conta").with(cliente("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/anuncios/busca/descricao?descricao=conta").with(cliente("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+
+        // Outro cliente, outro endpoint de busca e o CRUD do mesmo cliente têm baldes próprios
+        mockMvc.perform(get("/anuncios/busca/descricao?descricao=conta").with(cliente("10.0.0.2")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/usuarios/busca/nome?nome=a").with(cliente("10.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/anuncios/1").with(cliente("10.0.0.1")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void limiteDeConcorrenciaCaiComEsperaAltaESobeDevagar() {
+        LimiteConcorrencia limite = new LimiteConcorrencia(2, 10, Duration.ofMillis(20), new SimpleMeterRegistry());
+        limite.ajustar(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(limite.getLimite()).isEqualTo(8);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(limite.entrar(ClasseRota.CRUD)).isTrue();
+        }
+        assertThat(limite.entrar(ClasseRota.CRUD)).isFalse();
+        assertThat(limite.entrar(ClasseRota.BUSCA)).isFalse();
+
+        limite.ajustar(0);
+        assertThat(limite.getLimite()).isEqualTo(9);
+        assertThat(limite.entrar(ClasseRota.CRUD)).isTrue();
+    }
+
+    private static RequestPostProcessor cliente(String endereco) {
+        return requisicao -> {
+            requisicao.setRemoteAddr(endereco);
+            return requisicao;
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.gameaccounts.metricas;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "marketplace.cache.habilitado=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void publicaLatenciaDosServicosEConsultasPorEndpoint() throws Exception {
+        mockMvc.perform(get("/anuncios")).andExpect(status().isOk());
+
+        String prometheus = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(prometheus)
+                .contains("marketplace_servico_seconds_bucket{classe=\"AnuncioService\",exception=\"none\",metodo=\"listarAnuncios\"")
+                .contains("marketplace_http_consultas_count{method=\"GET\",uri=\"/anuncios\"} 1")
+                .contains("marketplace_http_consultas_sum{method=\"GET\",uri=\"/anuncios\"} 2")
+                .contains("hikaricp_connections_acquire_seconds_bucket");
+    }
+}
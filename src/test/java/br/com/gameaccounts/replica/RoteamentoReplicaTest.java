@@ -0,0 +1,107 @@
+package br.com.gameaccounts.replica;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Primário e "réplica" são dois pools sobre o mesmo H2; o batimento agendado só roda na subida
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-teste",
+        "marketplace.replica.url=jdbc:h2:mem:replica-teste",
+        "marketplace.replica.batimento=1h"
+})
+@AutoConfigureMockMvc
+class RoteamentoReplicaTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MonitorReplica monitor;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    @Qualifier("dataSourceReplica")
+    private DataSource dataSourceReplica;
+
+    @BeforeEach
+    void replicaEmDia() {
+        monitor.verificar();
+        assertThat(monitor.isDisponivel()).isTrue();
+    }
+
+    @Test
+    void leituraSemEscritaRecenteVaiParaAReplica() throws Exception {
+        double antes = conexoes("replica");
+        buscar(null);
+        assertThat(conexoes("replica")).isGreaterThan(antes);
+    }
+
+    @Test
+    void clienteQueEscreveuLeDoPrimario() throws Exception {
+        Cookie escrita = mockMvc.perform(post("/jogos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Hollow Knight\",\"plataforma\":\"PC\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(AderenciaPrimarioInterceptor.COOKIE))
+                .andReturn().getResponse().getCookie(AderenciaPrimarioInterceptor.COOKIE);
+
+        double replica = conexoes("replica");
+        double primario = conexoes("primario");
+        buscar(escrita);
+        assertThat(conexoes("replica")).isEqualTo(replica);
+        assertThat(conexoes("primario")).isGreaterThan(primario);
+    }
+
+    @Test
+    void replicaAtrasadaDesviaAsLeiturasParaOPrimario() throws Exception {
+        monitor.avaliar(Duration.ofMinutes(1));
+        assertThat(monitor.isDisponivel()).isFalse();
+
+        double replica = conexoes("replica");
+        buscar(null);
+        assertThat(conexoes("replica")).isEqualTo(replica);
+    }
+
+    @Test
+    void medicaoSemBatimentosNovosExpira() throws Exception {
+        MonitorReplica parado = new MonitorReplica(dataSourceReplica, dataSourceReplica, Duration.ofMillis(20),
+                Duration.ofSeconds(2), new SimpleMeterRegistry());
+        parado.avaliar(Duration.ZERO);
+        assertThat(parado.isDisponivel()).isTrue();
+
+        Thread.sleep(100);
+        assertThat(parado.isDisponivel()).isFalse();
+    }
+
+    private void buscar(Cookie cookie) throws Exception {
+        MockHttpServletRequestBuilder requisicao = get("/anuncios/busca").param("precoMax", "1000");
+        if (cookie != null) {
+            requisicao.cookie(cookie);
+        }
+        mockMvc.perform(requisicao).andExpect(status().isOk());
+    }
+
+    private double conexoes(String destino) {
+        return registry.counter("marketplace.replica.conexoes", "destino", destino).count();
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.gameaccounts.service;
+
+import br.com.gameaccounts.dto.PontoVenda;
+import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.Granularidade;
+import br.com.gameaccounts.model.Usuario;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class AnaliseVendasServiceTest {
+
+    @Autowired
+    private AnaliseVendasService service;
+
+    @Autowired
+    private AnuncioService anuncioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Test
+    void vendasAtualizamRollupsIgualAoReprocessamento() {
+        Usuario vendedor = usuarioRepository.save(new Usuario("Vendedor Rollup", "rollup@email.com", "senha"));
+        for (int i = 0; i < 3; i++) {
+            Long id = anuncioService.cadastrarAnuncio(new Anuncio("Conta " + i, 10.0 * (i + 1), vendedor)).getId();
+            anuncioService.comprarAnuncio(id, "PIX");
+        }
+        LocalDateTime hoje = LocalDate.now().atStartOfDay();
+
+        List<PontoVenda> incremental = service.consultar(Granularidade.DIA, hoje, hoje.plusDays(1), null, vendedor.getId(), "vendedor");
+        assertThat(incremental).containsExactly(new PontoVenda(hoje, vendedor.getId(), 3, 60.0));
+        assertThat(service.consultar(Granularidade.HORA, hoje, hoje.plusDays(1), null, vendedor.getId(), "total"))
+                .extracting(PontoVenda::quantidade).containsOnly(3L);
+
+        service.reprocessar(null, null);
+
+        assertThat(service.consultar(Granularidade.DIA, hoje, hoje.plusDays(1), null, vendedor.getId(), "vendedor"))
+                .isEqualTo(incremental);
+        // Transações do DataLoader, de dias anteriores, também entram no total por jogo
+        assertThat(service.consultar(Granularidade.DIA, hoje.minusDays(7), hoje, null, null, "jogo"))
+                .extracting(PontoVenda::receita).contains(150.0, 200.0);
+    }
+
+    @Test
+    void reprocessamentoRecusaPeriodoInvertido() {
+        LocalDate hoje = LocalDate.now();
+
+        assertThatThrownBy(() -> service.reprocessar(hoje, hoje.minusDays(1)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(service.reprocessar(hoje, hoje).dias()).isZero();
+        assertThat(service.reprocessar(hoje.plusYears(1), null).dias()).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.gameaccounts.service;
+
+import br.com.gameaccounts.busca.FacetaPreco;
+import br.com.gameaccounts.busca.Facetas;
+import br.com.gameaccounts.busca.FiltroAnuncio;
+import br.com.gameaccounts.busca.ResultadoBuscaAnuncio;
+import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.Usuario;
+import br.com.gameaccounts.repository.AnuncioRepository;
+import br.com.gameaccounts.repository.AnuncioSpecifications;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BuscaAnunciosTest {
+
+    @Autowired
+    private AnuncioService anuncioService;
+
+    @Autowired
+    private AnuncioRepository anuncioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void likeDoBancoNormalizaEEscapaComoOIndice() {
+        Usuario vendedor = usuarioRepository.save(new Usuario("Vendedor Busca", "busca@email.com", "hash"));
+        Long promocao = anuncioService.cadastrarAnuncio(new Anuncio("Conta PokÉmon 50%_off", 10.0, vendedor)).getId();
+        Long comum = anuncioService.cadastrarAnuncio(new Anuncio("Conta Pokemon 50 comum", 20.0, vendedor)).getId();
+
+        assertThat(anuncioRepository.findAll(AnuncioSpecifications.descricaoContem("pokémon")))
+                .extracting(Anuncio::getId).contains(promocao, comum);
+        assertThat(anuncioRepository.findAll(AnuncioSpecifications.descricaoContem("POKEMON 50%_")))
+                .extracting(Anuncio::getId).containsExactly(promocao);
+        assertThat(anuncioRepository.findAll(AnuncioSpecifications.descricaoContem("50_")))
+                .extracting(Anuncio::getId).doesNotContain(comum);
+    }
+
+    @Test
+    void facetasIgnoramAnunciosVendidos() {
+        Usuario vendedor = usuarioRepository.save(new Usuario("Vendedor Facetas", "facetas@email.com", "hash"));
+        anuncioService.cadastrarAnuncio(new Anuncio("Conta à venda", 10.0, vendedor));
+        anuncioService.cadastrarAnuncio(new Anuncio("Outra conta à venda", 60.0, vendedor));
+        Long vendido = anuncioService.cadastrarAnuncio(new Anuncio("Conta vendida", 70.0, vendedor)).getId();
+        anuncioService.comprarAnuncio(vendido, "PIX");
+
+        ResultadoBuscaAnuncio resultado = anuncioService.buscar(new FiltroAnuncio(null, null, null, vendedor.getId(), null),
+                PageRequest.of(0, 10));
+        Facetas facetas = resultado.facetas();
+
+        assertThat(resultado.anuncios().getContent()).hasSize(3)
+                .allSatisfy(anuncio -> assertThat(anuncio.reputacaoVendedor()).isNotNull());
+
+        assertThat(facetas.vendedores()).singleElement()
+                .satisfies(faceta -> assertThat(faceta.quantidade()).isEqualTo(2));
+        assertThat(facetas.faixasPreco()).extracting(FacetaPreco::quantidade).containsExactly(1L, 1L, 0L, 0L, 0L, 0L);
+    }
+
+    @Test
+    void indiceSoMudaDepoisDoCommit() {
+        Usuario vendedor = usuarioService.cadastrarUsuario(new Usuario("Vendedor Indice", "indice@email.com", "senha")).join();
+        Anuncio anuncio = anuncioService.cadastrarAnuncio(new Anuncio("Conta Terraria original", 15.0, vendedor));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            anuncioService.atualizarAnuncio(anuncio.getId(), new Anuncio("Conta Starbound revertida", 15.0, vendedor), null);
+            assertThat(anuncioService.buscarPorDescricao("starbound", PageRequest.of(0, 10))).isEmpty();
+            status.setRollbackOnly();
+        });
+        assertThat(anuncioService.buscarPorDescricao("starbound", PageRequest.of(0, 10))).isEmpty();
+        assertThat(anuncioService.buscarPorDescricao("terraria original", PageRequest.of(0, 10)))
+                .extracting(Anuncio::getId).containsExactly(anuncio.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            usuarioService.deletarUsuario(vendedor.getId());
+            status.setRollbackOnly();
+        });
+        assertThat(anuncioService.buscarPorDescricao("terraria original", PageRequest.of(0, 10))).hasSize(1);
+        assertThat(usuarioService.buscarPorNome("Vendedor Indice", PageRequest.of(0, 10))).hasSize(1);
+
+        anuncioService.atualizarAnuncio(anuncio.getId(), new Anuncio("Conta Starbound nova", 15.0, vendedor), null);
+        assertThat(anuncioService.buscarPorDescricao("starbound nova", PageRequest.of(0, 10))).hasSize(1);
+    }
+}
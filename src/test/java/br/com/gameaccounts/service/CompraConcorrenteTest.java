@@ -0,0 +1,127 @@
+package br.com.gameaccounts.service;
+
+import br.com.gameaccounts.model.Anuncio;
+import br.com.gameaccounts.model.Pagamento;
+import br.com.gameaccounts.model.Transacao;
+import br.com.gameaccounts.model.Usuario;
+import br.com.gameaccounts.repository.AnuncioRepository;
+import br.com.gameaccounts.repository.TransacaoRepository;
+import br.com.gameaccounts.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class CompraConcorrenteTest {
+    private static final int COMPRADORES = 300;
+
+    @Autowired
+    private AnuncioService anuncioService;
+
+    @Autowired
+    private TransacaoService transacaoService;
+
+    @Autowired
+    private AnuncioRepository anuncioRepository;
+
+    @Autowired
+    private TransacaoRepository transacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compradoresSimultaneosVendemOAnuncioUmaUnicaVez() throws Exception {
+        Long id = anuncioService.cadastrarAnuncio(new Anuncio("Conta disputada", 99.9, vendedor())).getId();
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger vendas = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        List<Future<?>> tentativas = new ArrayList<>();
+        try (ExecutorService compradores = Executors.newFixedThreadPool(COMPRADORES)) {
+            for (int i = 0; i < COMPRADORES; i++) {
+                tentativas.add(compradores.submit(() -> {
+                    largada.await();
+                    try {
+                        anuncioService.comprarAnuncio(id, "PIX");
+                        vendas.incrementAndGet();
+                    } catch (ResponseStatusException e) {
+                        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+                        conflitos.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tentativa : tentativas) {
+                tentativa.get();
+            }
+        }
+
+        assertThat(vendas).hasValue(1);
+        assertThat(conflitos).hasValue(COMPRADORES - 1);
+        assertThat(transacaoRepository.findAll()).filteredOn(t -> t.getAnuncio().getId().equals(id)).hasSize(1);
+        assertThat(anuncioRepository.findById(id)).get().extracting(Anuncio::isVendido).isEqualTo(true);
+        assertThatThrownBy(() -> anuncioService.comprarAnuncio(id, "PIX"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    void versaoImpedeVendaDuplaEntreNos() {
+        Long id = anuncioService.cadastrarAnuncio(new Anuncio("Conta disputada entre nós", 50.0, vendedor())).getId();
+        TransactionTemplate outroNo = new TransactionTemplate(transactionManager);
+        outroNo.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Os dois "nós" leem o anúncio ainda disponível; o segundo a gravar perde
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Anuncio lido = anuncioRepository.findById(id).orElseThrow();
+            outroNo.executeWithoutResult(s -> anuncioRepository.findById(id).orElseThrow().marcarVendido());
+            lido.marcarVendido();
+            anuncioRepository.flush();
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(transacaoRepository.findAll()).extracting(Transacao::getAnuncio).extracting(Anuncio::getId).doesNotContain(id);
+    }
+
+    @Test
+    void cadastroDiretoDeTransacaoTambemVendeUmaVezSo() {
+        Anuncio anuncio = anuncioService.cadastrarAnuncio(new Anuncio("Conta vendida por /transacoes", 40.0, vendedor()));
+
+        Transacao venda = transacaoService.cadastrarTransacao(new Transacao(null, 1.0, anuncio, new Pagamento(1.0, "PIX")));
+        assertThat(venda.getValor()).isEqualTo(40.0);
+        assertThat(anuncioRepository.findById(anuncio.getId())).get().extracting(Anuncio::isVendido).isEqualTo(true);
+
+        assertThatThrownBy(() -> transacaoService.cadastrarTransacao(new Transacao(null, 1.0, anuncio, new Pagamento(1.0, "PIX"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThatThrownBy(() -> transacaoService.cadastrarTransacao(new Transacao(null, 1.0, null)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(transacaoRepository.findAll()).filteredOn(t -> t.getAnuncio().getId().equals(anuncio.getId())).hasSize(1);
+    }
+
+    // Anúncio sem vendedor quebraria quem lista os anúncios no mesmo contexto de teste
+    private Usuario vendedor() {
+        return usuarioRepository.findById(1L).orElseThrow();
+    }
+}
@@ -1,9 +1,10 @@
 package com.example.demo;
 
+import br.com.gameaccounts.MarketplaceApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(classes = MarketplaceApplication.class)
 class DemoApplicationTests {
 
 	@Test